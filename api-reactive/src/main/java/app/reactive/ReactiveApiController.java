@@ -0,0 +1,20 @@
+package app.reactive;
+
+import app.base.Base;
+import app.base.ReactiveBaseService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequiredArgsConstructor
+public class ReactiveApiController {
+
+    private final ReactiveBaseService reactiveBaseService;
+
+    @GetMapping("/api")
+    public Mono<Base> api() {
+        return reactiveBaseService.next();
+    }
+}
@@ -0,0 +1,19 @@
+package app.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+
+/**
+ * 리액티브 웹 레이어( app.reactive )와 R2DBC 저장소( app.r2dbc )만 스캔한다.
+ * 블로킹 저장소에 의존하는 도메인 서비스( app.base )는 스캔하지 않고, 필요한 서비스만 ReactiveDomainConfig 에서 등록한다.
+ */
+@SpringBootApplication(scanBasePackages = {"app.reactive", "app.r2dbc"})
+@ConfigurationPropertiesScan
+public class ReactiveApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveApplication.class, args);
+    }
+
+}
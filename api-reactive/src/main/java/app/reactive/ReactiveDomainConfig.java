@@ -0,0 +1,16 @@
+package app.reactive;
+
+import app.base.ReactiveBaseRepository;
+import app.base.ReactiveBaseService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** 리액티브 스택에서 사용하는 도메인 서비스 등록 */
+@Configuration
+public class ReactiveDomainConfig {
+
+    @Bean
+    public ReactiveBaseService reactiveBaseService(ReactiveBaseRepository reactiveBaseRepository) {
+        return new ReactiveBaseService(reactiveBaseRepository);
+    }
+}
@@ -0,0 +1,22 @@
+package app.reactive;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.resources.LoopResources;
+
+/** Netty 이벤트 루프를 고정된 작은 스레드 풀로 제한한다. 컨텍스트 종료 시 스레드도 정리한다. */
+@Configuration
+public class ReactiveServerConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public LoopResources reactiveLoopResources(ReactiveServerProperties properties) {
+        return LoopResources.create("api-reactive", properties.eventLoopThreads(), true);
+    }
+
+    @Bean
+    public WebServerFactoryCustomizer<NettyReactiveWebServerFactory> reactiveEventLoopCustomizer(LoopResources reactiveLoopResources) {
+        return factory -> factory.addServerCustomizers(server -> server.runOn(reactiveLoopResources));
+    }
+}
@@ -0,0 +1,8 @@
+package app.reactive;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** @param eventLoopThreads Netty 이벤트 루프 스레드 수 */
+@ConfigurationProperties("reactive")
+public record ReactiveServerProperties(int eventLoopThreads) {
+}
@@ -2,18 +2,125 @@ package app;
 
 import app.base.Base;
 import app.base.BaseService;
+import app.sql.SqlDiagnostics;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+
+@Slf4j
 @RestController
 @RequiredArgsConstructor
 public class ApiController {
+    private static final int MAX_BULK_COUNT = 1_000_000;
+    private static final int BULK_CHUNK_SIZE = 500;
+    private static final String BULK_SCOPE = "POST /api/bulk";
 
     private final BaseService baseService;
+    private final ObjectMapper objectMapper;
+    private final WebMvcProperties webMvcProperties;
+    private final ObjectProvider<SqlDiagnostics> sqlDiagnostics;
 
     @GetMapping("/api")
     public Base api() {
         return baseService.next();
     }
+
+    /**
+     * count 개의 Base 를 생성해 NDJSON 으로 스트리밍한다.
+     * 청크 단위로 저장하고 바로 내보내므로 첫 바이트가 빠르고 메모리는 청크 크기로 제한된다.
+     * <p>
+     * 200 을 보낸 뒤에는 상태 코드로 실패를 알릴 수 없으므로 마지막 줄에 항상 {@link BulkResult} 를 쓴다.
+     * 비동기 요청 제한 시간( spring.mvc.async.request-timeout )의 90% 가 지나면 새 청크를 시작하지 않고
+     * timeout 으로 끝내, 컨테이너가 중간에 응답을 끊기 전에 어디까지 저장했는지 알린다.
+     */
+    @PostMapping("/api/bulk")
+    public ResponseEntity<StreamingResponseBody> bulk(@RequestParam int count) {
+        if (count < 1 || count > MAX_BULK_COUNT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "count 는 1 ~ " + MAX_BULK_COUNT + " 사이여야 합니다.");
+        }
+
+        Duration timeout = webMvcProperties.getAsync().getRequestTimeout();
+        long deadline = timeout == null ? Long.MAX_VALUE : System.nanoTime() + timeout.toNanos() / 10 * 9;
+
+        StreamingResponseBody body = out -> {
+            int created = 0;
+            try {
+                while (created < count) {
+                    if (System.nanoTime() - deadline > 0) {
+                        log.warn("/api/bulk 가 제한 시간 {} 에 가까워 {} / {} 건에서 중단합니다.", timeout, created, count);
+                        writeLine(out, BulkResult.timeout(created));
+                        return;
+                    }
+                    created += writeChunk(out, Math.min(BULK_CHUNK_SIZE, count - created));
+                }
+            } catch (RuntimeException e) {
+                log.error("/api/bulk 가 {} / {} 건을 저장한 뒤 실패했습니다.", created, count, e);
+                writeLine(out, BulkResult.error(created));
+                return;
+            }
+            writeLine(out, BulkResult.complete(created));
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * 스트리밍은 요청 스레드가 아닌 비동기 스레드에서 돌기 때문에 SqlScopeFilter 의 범위 밖이다.
+     * 청크마다 범위를 열어 SQL 을 이 요청으로 집계한다 ( 청크마다 반복되는 최대 id 조회를 N+1 로 보지 않도록 청크 단위 ).
+     */
+    private int writeChunk(OutputStream out, int size) throws IOException {
+        List<Base> chunk;
+        SqlDiagnostics diagnostics = sqlDiagnostics.getIfAvailable();
+        SqlDiagnostics.Scope scope = diagnostics == null ? null : diagnostics.openScope(BULK_SCOPE);
+        try {
+            chunk = baseService.nextBatch(size);
+        } finally {
+            if (scope != null) {
+                scope.close();
+            }
+        }
+        for (Base base : chunk) {
+            writeLine(out, base);
+        }
+        out.flush();
+        return chunk.size();
+    }
+
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
+    }
+
+    /** /api/bulk 의 마지막 줄. status 가 complete 가 아니면 created 건까지만 저장되었다. */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record BulkResult(String status, int created, String error) {
+
+        static BulkResult complete(int created) {
+            return new BulkResult("complete", created, null);
+        }
+
+        static BulkResult timeout(int created) {
+            return new BulkResult("timeout", created, "요청 제한 시간에 가까워 중단했습니다.");
+        }
+
+        static BulkResult error(int created) {
+            return new BulkResult("error", created, "저장 중 오류로 중단했습니다.");
+        }
+    }
 }
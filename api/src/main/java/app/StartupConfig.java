@@ -0,0 +1,19 @@
+package app;
+
+import app.base.BaseService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * spring.main.lazy-initialization 을 켜더라도 요청 경로의 빈은 기동 시점에 생성한다.
+ * ( 그렇지 않으면 첫 요청이 JPA/Hibernate 초기화 비용을 떠안는다 )
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter requestPathBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(ApiController.class, BaseService.class);
+    }
+}
@@ -0,0 +1,91 @@
+package app.limit;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * AdaptiveLimiter 의 limit 을 넘는 요청은 Tomcat 스레드에서 대기시키지 않고 503 으로 즉시 거절한다.
+ * 비동기( 스트리밍 ) 응답은 완료될 때 허가를 반납한다.
+ */
+@RequiredArgsConstructor
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final AdaptiveLimiter limiter;
+    private final LimiterProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!properties.enabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Optional<AdaptiveLimiter.Permit> acquired = limiter.tryAcquire();
+        if (acquired.isEmpty()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+
+        AdaptiveLimiter.Permit permit = acquired.get();
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            permit.onDropped();
+            throw e;
+        }
+
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new PermitReleasingListener(permit));
+        } else {
+            complete(permit, response);
+        }
+    }
+
+    private static void complete(AdaptiveLimiter.Permit permit, HttpServletResponse response) {
+        int status = response.getStatus();
+        if (status >= 500) {
+            permit.onDropped();
+        } else if (status >= 400) {
+            permit.onIgnore();
+        } else {
+            permit.onSuccess();
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class PermitReleasingListener implements AsyncListener {
+        private final AdaptiveLimiter.Permit permit;
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            complete(permit, (HttpServletResponse) event.getSuppliedResponse());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            permit.onDropped();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.onDropped();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
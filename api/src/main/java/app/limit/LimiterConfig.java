@@ -0,0 +1,76 @@
+package app.limit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * /api 앞단의 적응형 동시성 제한, /api/bulk 의 고정 동시성 제한 설정 및 메트릭( /actuator/metrics/api.limiter.* )
+ *
+ * <p>/api/bulk 는 스트리밍으로 허가를 수 초간 잡고 큰 RTT 를 보고하므로, 짧은 /api 의 limit 추정을 왜곡하지 않게
+ * 따로 고정 허가 풀을 둔다.
+ */
+@Configuration
+@EnableConfigurationProperties(LimiterProperties.class)
+public class LimiterConfig {
+
+    @Bean
+    public AdaptiveLimiter apiLimiter(LimiterProperties properties) {
+        return AdaptiveLimiter.of(properties.initialLimit(), properties.minLimit(), properties.maxLimit());
+    }
+
+    @Bean
+    public AdaptiveLimiter bulkLimiter(LimiterProperties properties) {
+        return AdaptiveLimiter.fixed(properties.bulkLimit());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            AdaptiveLimiter apiLimiter, LimiterProperties properties) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(apiLimiter, properties));
+        registration.addUrlPatterns("/api");
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> bulkConcurrencyLimitFilter(
+            AdaptiveLimiter bulkLimiter, LimiterProperties properties) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(bulkLimiter, properties));
+        registration.setName("bulkConcurrencyLimitFilter"); // 같은 필터 클래스라 이름을 따로 준다.
+        registration.addUrlPatterns("/api/bulk");
+        return registration;
+    }
+
+    @Bean
+    public MeterBinder apiLimiterMetrics(AdaptiveLimiter apiLimiter, AdaptiveLimiter bulkLimiter) {
+        return registry -> {
+            bind(registry, "api", apiLimiter);
+            bind(registry, "bulk", bulkLimiter);
+        };
+    }
+
+    private static void bind(MeterRegistry registry, String name, AdaptiveLimiter limiter) {
+        Gauge.builder("api.limiter.limit", limiter, AdaptiveLimiter::limit).tag("limiter", name).register(registry);
+        Gauge.builder("api.limiter.inflight", limiter, AdaptiveLimiter::inFlight).tag("limiter", name).register(registry);
+        Gauge.builder("api.limiter.min.rtt", limiter, it -> it.minRttNanos() / 1e6)
+                .tag("limiter", name)
+                .baseUnit("milliseconds")
+                .register(registry);
+        FunctionCounter.builder("api.limiter.requests", limiter, AdaptiveLimiter::acceptedCount)
+                .tags("limiter", name, "result", "accepted")
+                .register(registry);
+        FunctionCounter.builder("api.limiter.requests", limiter, AdaptiveLimiter::rejectedCount)
+                .tags("limiter", name, "result", "rejected")
+                .register(registry);
+        FunctionCounter.builder("api.limiter.requests", limiter, AdaptiveLimiter::droppedCount)
+                .tags("limiter", name, "result", "dropped")
+                .register(registry);
+    }
+}
@@ -0,0 +1,20 @@
+package app.limit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param enabled      false 면 필터가 요청을 그대로 통과시킨다. ( 부하 비교용 )
+ * @param initialLimit 시작 동시 처리 수
+ * @param minLimit     limit 하한
+ * @param maxLimit     limit 상한 ( Tomcat 최대 스레드 수보다 작게 )
+ * @param bulkLimit    /api/bulk 동시 스트리밍 수 ( 고정, DB 커넥션 풀 크기보다 작게 )
+ */
+@ConfigurationProperties("api.limiter")
+public record LimiterProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20") int initialLimit,
+        @DefaultValue("4") int minLimit,
+        @DefaultValue("150") int maxLimit,
+        @DefaultValue("4") int bulkLimit) {
+}
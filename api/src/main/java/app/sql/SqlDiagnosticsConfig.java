@@ -0,0 +1,23 @@
+package app.sql;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SqlDiagnosticsConfig {
+
+    @Bean
+    public SqlDiagnosticsEndpoint sqlDiagnosticsEndpoint(ObjectProvider<SqlDiagnostics> sqlDiagnostics) {
+        return new SqlDiagnosticsEndpoint(sqlDiagnostics);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlScopeFilter> sqlScopeFilter(ObjectProvider<SqlDiagnostics> sqlDiagnostics) {
+        FilterRegistrationBean<SqlScopeFilter> registration =
+                new FilterRegistrationBean<>(new SqlScopeFilter(sqlDiagnostics));
+        registration.addUrlPatterns("/api", "/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,25 @@
+package app.sql;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/** /actuator/sql : SQL 별 통계, 느린 SQL, N+1 의심 패턴 조회 ( DELETE 로 초기화 ) */
+@Endpoint(id = "sql")
+@RequiredArgsConstructor
+public class SqlDiagnosticsEndpoint {
+    private final ObjectProvider<SqlDiagnostics> sqlDiagnostics;
+
+    @ReadOperation
+    public SqlReport report() {
+        SqlDiagnostics diagnostics = sqlDiagnostics.getIfAvailable();
+        return diagnostics == null ? null : diagnostics.report();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        sqlDiagnostics.ifAvailable(SqlDiagnostics::reset);
+    }
+}
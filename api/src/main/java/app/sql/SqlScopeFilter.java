@@ -0,0 +1,33 @@
+package app.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/** 요청 하나에서 실행된 SQL 을 묶어 N+1 을 감지한다. */
+@RequiredArgsConstructor
+public class SqlScopeFilter extends OncePerRequestFilter {
+    private final ObjectProvider<SqlDiagnostics> sqlDiagnostics;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlDiagnostics diagnostics = sqlDiagnostics.getIfAvailable();
+        if (diagnostics == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        SqlDiagnostics.Scope scope = diagnostics.openScope(request.getMethod() + " " + request.getRequestURI());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            scope.close();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package app.warmup;
+
+import app.base.Base;
+import app.base.BaseService;
+import app.sql.SqlDiagnostics;
+import app.structure.Pair;
+import app.structure.Triple;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 기동 직후 /api 요청 경로( BaseService.next -> Hibernate merge, Jackson 직렬화, app.structure )를 반복 실행해
+ * JIT 컴파일을 끝내 둔다.
+ *
+ * <p>ApplicationRunner 는 ApplicationReadyEvent 전에 실행되므로, 워밍업이 끝날 때까지 readiness 는 REFUSING_TRAFFIC 이다.
+ * 매 반복은 롤백되는 트랜잭션 안에서 flush 까지 실행되어, insert 는 DB 에 보내지만 데이터는 남기지 않는다.
+ */
+@Slf4j
+public class JitWarmup implements ApplicationRunner {
+    private final WarmupProperties properties;
+    private final BaseService baseService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate throwaway;
+    private final ObjectProvider<SqlDiagnostics> sqlDiagnostics;
+
+    public JitWarmup(WarmupProperties properties,
+                     BaseService baseService,
+                     ObjectMapper objectMapper,
+                     PlatformTransactionManager transactionManager,
+                     ObjectProvider<SqlDiagnostics> sqlDiagnostics) {
+        this.properties = properties;
+        this.baseService = baseService;
+        this.objectMapper = objectMapper;
+        this.throwaway = new TransactionTemplate(transactionManager);
+        this.sqlDiagnostics = sqlDiagnostics;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.enabled()) {
+            log.info("JIT 워밍업 생략 : api.warmup.enabled=false");
+            return;
+        }
+        long started = System.nanoTime();
+        long checksum = 0;
+        for (int i = 0; i < properties.iterations(); i++) {
+            checksum += throwaway.execute(status -> {
+                status.setRollbackOnly();
+                Base base = baseService.next();
+                status.flush(); // 롤백만 하면 insert 가 실행되지 않으므로, flush 로 insert/배치 JDBC 경로까지 데운다.
+                return exercise(base);
+            });
+        }
+        sqlDiagnostics.ifAvailable(SqlDiagnostics::reset); // 워밍업 SQL 은 /actuator/sql 통계에서 뺀다.
+        // checksum 을 남겨 JIT 가 반복 결과를 버리지( dead code 제거 ) 못하게 한다.
+        log.info("JIT 워밍업 완료 : {} 회, {} ms ( checksum {} )",
+                properties.iterations(), (System.nanoTime() - started) / 1_000_000, checksum);
+    }
+
+    private long exercise(Base base) {
+        byte[] json = serialize(base);
+        Pair<Long, Integer> pair = Pair.of(base.getId(), json.length);
+        Triple<Integer, Long, Integer> triple =
+                Triple.of(json.length, base.getId(), pair.toList().size()).rotate().rotateBackward();
+        return pair.swap().map((length, id) -> length + id) + triple.toFirstThirdPair().map(Integer::sum);
+    }
+
+    private byte[] serialize(Base base) {
+        try {
+            return objectMapper.writeValueAsBytes(base);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("워밍업 중 Base 직렬화에 실패했습니다.", e);
+        }
+    }
+}
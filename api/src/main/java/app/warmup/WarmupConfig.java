@@ -0,0 +1,30 @@
+package app.warmup;
+
+import app.base.BaseService;
+import app.sql.SqlDiagnostics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * 기동 시 JIT 워밍업 ( 끝날 때까지 /actuator/health/readiness 는 OUT_OF_SERVICE )
+ *
+ * <p>AOT 빌드에서는 @ConditionalOnProperty 가 빌드 시점에 고정되므로, 빈은 항상 등록하고 api.warmup.enabled 는
+ * JitWarmup 이 실행 시점에 확인한다.
+ */
+@Configuration
+@EnableConfigurationProperties(WarmupProperties.class)
+public class WarmupConfig {
+
+    @Bean
+    public JitWarmup jitWarmup(WarmupProperties properties,
+                               BaseService baseService,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               ObjectProvider<SqlDiagnostics> sqlDiagnostics) {
+        return new JitWarmup(properties, baseService, objectMapper, transactionManager, sqlDiagnostics);
+    }
+}
@@ -0,0 +1,14 @@
+package app.warmup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param enabled    false 면 워밍업 없이 바로 트래픽을 받는다.
+ * @param iterations 요청 경로를 반복 실행할 횟수 ( C2 컴파일 임계치 약 10,000 회 이상 권장 )
+ */
+@ConfigurationProperties("api.warmup")
+public record WarmupProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") int iterations) {
+}
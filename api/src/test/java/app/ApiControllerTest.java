@@ -0,0 +1,160 @@
+package app;
+
+import app.base.BaseService;
+import app.limit.AdaptiveLimiter;
+import app.sql.SqlDiagnostics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"api.warmup.enabled=false", "storage.jpa.statistics=true"})
+@AutoConfigureMockMvc
+class ApiControllerTest {
+
+  @Autowired MockMvc mockMvc;
+  @Autowired ObjectMapper objectMapper;
+  @Autowired AdaptiveLimiter bulkLimiter;
+  @Autowired WebMvcProperties webMvcProperties;
+  @MockitoSpyBean BaseService baseService;
+  @MockitoSpyBean SqlDiagnostics sqlDiagnostics;
+
+  @Test
+  @DisplayName("count 범위를 벗어나면 스트리밍을 시작하기 전에 400 을 반환한다")
+  void rejectsOutOfRangeCount() throws Exception {
+    mockMvc.perform(post("/api/bulk").param("count", "0")).andExpect(status().isBadRequest());
+    mockMvc.perform(post("/api/bulk").param("count", "1000001")).andExpect(status().isBadRequest());
+
+    verify(baseService, never()).nextBatch(anyInt());
+  }
+
+  @Test
+  @DisplayName("500 건 단위로 저장하며 한 줄에 Base 하나씩 NDJSON 으로 내보낸다")
+  void streamsNdjsonInChunks() throws Exception {
+    MvcResult started =
+        mockMvc
+            .perform(post("/api/bulk").param("count", "1201"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    String body =
+        mockMvc
+            .perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    assertEquals(300_000L, started.getRequest().getAsyncContext().getTimeout(), "bulk 는 명시한 제한 시간으로 스트리밍해야 합니다.");
+    assertTrue(body.endsWith("\n"), "마지막 줄도 개행으로 끝나야 합니다.");
+    List<String> lines = Arrays.asList(body.split("\n"));
+    assertEquals("{\"status\":\"complete\",\"created\":1201}", lines.getLast());
+    List<Long> ids = lines.subList(0, lines.size() - 1).stream().map(this::readId).toList();
+    assertEquals(1201, ids.size());
+    for (int i = 1; i < ids.size(); i++) {
+      assertEquals(ids.get(i - 1) + 1, ids.get(i), "id 는 연속으로 할당되어야 합니다.");
+    }
+    verify(baseService, times(2)).nextBatch(500);
+    verify(baseService).nextBatch(201);
+    // 요청 스레드의 SqlScopeFilter 1 회 + 스트리밍 스레드의 청크마다 1 회
+    verify(sqlDiagnostics, times(4)).openScope("POST /api/bulk");
+    assertEquals(0, bulkLimiter.inFlight(), "스트리밍이 끝나면 허가를 반납해야 합니다.");
+  }
+
+  @Test
+  @DisplayName("스트리밍 중 저장이 실패하면 저장된 건수와 함께 error 줄로 끝낸다")
+  void endsWithErrorLineOnFailure() throws Exception {
+    doCallRealMethod().doThrow(new IllegalStateException("DB 장애")).when(baseService).nextBatch(anyInt());
+
+    List<String> lines = streamBulk(1201);
+
+    assertEquals(501, lines.size());
+    assertEquals("{\"status\":\"error\",\"created\":500,\"error\":\"저장 중 오류로 중단했습니다.\"}", lines.getLast());
+  }
+
+  @Test
+  @DisplayName("제한 시간의 90% 가 지나면 새 청크를 시작하지 않고 timeout 줄로 끝낸다")
+  void endsWithTimeoutLineNearDeadline() throws Exception {
+    WebMvcProperties.Async async = webMvcProperties.getAsync();
+    Duration timeout = async.getRequestTimeout();
+    async.setRequestTimeout(Duration.ofMillis(200));
+    doAnswer(invocation -> {
+          Thread.sleep(300);
+          return invocation.callRealMethod();
+        })
+        .when(baseService)
+        .nextBatch(anyInt());
+    try {
+      List<String> lines = streamBulk(1201);
+
+      assertEquals(501, lines.size());
+      assertTrue(lines.getLast().startsWith("{\"status\":\"timeout\",\"created\":500,"), lines.getLast());
+      verify(baseService).nextBatch(anyInt());
+    } finally {
+      async.setRequestTimeout(timeout);
+    }
+  }
+
+  @Test
+  @DisplayName("bulk 동시 스트리밍 수를 넘으면 503 으로 거절한다")
+  void rejectsBulkOverLimit() throws Exception {
+    List<AdaptiveLimiter.Permit> held =
+        Stream.generate(bulkLimiter::tryAcquire).limit(bulkLimiter.limit()).map(Optional::orElseThrow).toList();
+    try {
+      mockMvc.perform(post("/api/bulk").param("count", "1")).andExpect(status().isServiceUnavailable());
+    } finally {
+      held.forEach(AdaptiveLimiter.Permit::onIgnore);
+    }
+    verify(baseService, never()).nextBatch(anyInt());
+  }
+
+  @Test
+  @DisplayName("Hibernate 통계를 켜면 2차 캐시 리전별 통계를 /actuator/metrics 로 발행한다")
+  void publishesSecondLevelCacheMetrics() throws Exception {
+    mockMvc.perform(get("/api")).andExpect(status().isOk());
+
+    mockMvc
+        .perform(get("/actuator/metrics/hibernate.second.level.cache.puts").param("tag", "region:app.base.Base"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.measurements[0].value", greaterThan(0.0)));
+  }
+
+  private List<String> streamBulk(int count) throws Exception {
+    MvcResult started = mockMvc.perform(post("/api/bulk").param("count", String.valueOf(count))).andReturn();
+    String body =
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    return Arrays.asList(body.split("\n"));
+  }
+
+  private long readId(String line) {
+    try {
+      return objectMapper.readTree(line).get("id").asLong();
+    } catch (Exception e) {
+      throw new AssertionError("NDJSON 한 줄이 JSON 객체가 아닙니다: " + line, e);
+    }
+  }
+}
@@ -0,0 +1,120 @@
+package app.limit;
+
+import app.base.BaseService;
+import app.loadtest.LoadGenerator;
+import app.loadtest.LoadResult;
+import app.loadtest.LoadTestOptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.concurrent.Semaphore;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * 실제 /api ( Tomcat + ConcurrencyLimitFilter )에 처리량의 2 배로 고정 도착률 부하를 걸어, 제한기가 성공 응답의 p99 를 지키는지 본다.
+ * 실제 시간으로 부하를 거는 테스트라 기본 test 에서는 제외한다. ( ./gradlew :api:loadTest )
+ *
+ * <p>BaseService.next 앞에 동시 처리 CAPACITY, 처리 시간 SERVICE_TIME_MS 인 하위 자원( DB 커넥션 풀 등 )을 두어
+ * 처리량을 CAPACITY * 1000 / SERVICE_TIME_MS = 40 req/s 로 고정한다.
+ */
+@Tag("load")
+class ApiOverloadTest {
+  private static final int CAPACITY = 2;
+  private static final long SERVICE_TIME_MS = 50;
+  private static final int RATE = 80; // 처리량의 2 배. CPU 하나에서도 부하 생성기와 서버가 병목이 되지 않는 수준
+
+  /**
+   * 제한이 없으면 대기열이 초당 RATE - 40 = 40 건씩 쌓여, 워밍업 3 초 뒤 측정 구간의 대기는 3 초에서 5 초( 타임아웃 )로 늘어난다.
+   * 타임아웃도 실패 시점의 지연으로 기록되므로, 전체 p99 가 1 초를 넘는지로 이 부하가 실제 과부하임을 확인한다.
+   */
+  private static final long UNLIMITED_P99_FLOOR_MS = 1000;
+
+  /**
+   * 제한기는 추정 대기열( limit - CAPACITY )을 BETA( 6 ) 이하로 줄이므로 limit 은 8 근처에 머물고, 성공 응답 지연은
+   * ( limit / CAPACITY ) * SERVICE_TIME_MS ≈ 200 ms 다. limit 이 흔들리는 몫과 CI 지터를 감안해 2.5 배인 500 ms 를 상한으로 둔다.
+   */
+  private static final long LIMITED_P99_CEILING_MS = 500;
+
+  @Nested
+  @SpringBootTest(
+      webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+      properties = {"api.warmup.enabled=false", "api.limiter.enabled=true"})
+  @DisplayName("제한기가 있으면")
+  class Limited extends Scenario {
+
+    @Test
+    @DisplayName("초과 요청을 거절해 성공 응답의 p99 를 처리 시간 근처로 유지한다")
+    void holdsP99() {
+      LoadResult result = run();
+
+      assertTrue(result.rejected() > 0, "초과 요청은 거절되어야 합니다.");
+      assertTrue(result.succeeded() > 0);
+      assertTrue(
+          p99Millis(result) < LIMITED_P99_CEILING_MS,
+          "limited success p99=" + p99Millis(result) + "ms, limit=" + apiLimiter.limit());
+    }
+  }
+
+  @Nested
+  @SpringBootTest(
+      webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+      properties = {"api.warmup.enabled=false", "api.limiter.enabled=false"})
+  @DisplayName("제한기가 없으면")
+  class Unlimited extends Scenario {
+
+    @Test
+    @DisplayName("대기열이 쌓여 p99 가 초 단위로 늘어난다")
+    void queuesUp() {
+      LoadResult result = run();
+      long p99 = result.latency().getValueAtPercentile(99) / 1000;
+
+      assertTrue(p99 > UNLIMITED_P99_FLOOR_MS, "unlimited p99=" + p99 + "ms");
+    }
+  }
+
+  abstract static class Scenario {
+    @LocalServerPort int port;
+    @MockitoSpyBean BaseService baseService;
+    @Autowired AdaptiveLimiter apiLimiter;
+
+    @BeforeEach
+    void throttleDownstream() {
+      Semaphore resource = new Semaphore(CAPACITY, true);
+      doAnswer(
+              invocation -> {
+                resource.acquire();
+                try {
+                  Thread.sleep(SERVICE_TIME_MS);
+                  return invocation.callRealMethod();
+                } finally {
+                  resource.release();
+                }
+              })
+          .when(baseService)
+          .next();
+    }
+
+    LoadResult run() {
+      return new LoadGenerator(
+              LoadTestOptions.parse(
+                  "--target=http://localhost:" + port + "/api",
+                  "--rate=" + RATE,
+                  "--warmup=3",
+                  "--duration=3"))
+          .run();
+    }
+
+    static long p99Millis(LoadResult result) {
+      return result.successLatency().getValueAtPercentile(99) / 1000;
+    }
+  }
+}
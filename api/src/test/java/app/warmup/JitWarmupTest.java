@@ -0,0 +1,105 @@
+package app.warmup;
+
+import app.Application;
+import app.base.BaseService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+/**
+ * 실제 서버를 띄우고 워밍업 도중에 멈춰 세워, 그동안 readiness 가 트래픽을 거부하는지 확인한다.
+ * ( ApplicationRunner 가 끝나기 전에 컨텍스트가 반환되지 않으므로 @SpringBootTest 대신 직접 기동한다 )
+ */
+class JitWarmupTest {
+  private static final int ITERATIONS = 3;
+
+  private final HttpClient client = HttpClient.newHttpClient();
+
+  @Test
+  @DisplayName("워밍업이 끝날 때까지 readiness 는 OUT_OF_SERVICE 이고, 끝나면 UP 이 된다")
+  void refusesTrafficUntilWarm() throws Exception {
+    CountDownLatch warming = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Integer> port = new CompletableFuture<>();
+
+    SpringApplicationBuilder application =
+        new SpringApplicationBuilder(Application.class)
+            .initializers(context -> context.getBeanFactory().addBeanPostProcessor(blockWarmup(warming, release)))
+            .listeners((ApplicationListener<WebServerInitializedEvent>) event -> port.complete(event.getWebServer().getPort()));
+    CompletableFuture<ConfigurableApplicationContext> started =
+        CompletableFuture.supplyAsync(
+            () ->
+                application.run(
+                    "--server.port=0",
+                    // 다른 테스트 컨텍스트와 DB, 2차 캐시( JVM 에 하나인 JCache CacheManager )를 나누지 않는다.
+                    "--spring.datasource.url=jdbc:h2:mem:warmup",
+                    "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                    "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                    "--storage.jpa.statistics=true",
+                    "--api.warmup.enabled=true",
+                    "--api.warmup.iterations=" + ITERATIONS));
+
+    try {
+      assertTrue(warming.await(60, SECONDS), "워밍업이 시작되지 않았습니다.");
+      HttpResponse<String> refusing = get(port.get(), "/actuator/health/readiness");
+      assertEquals(503, refusing.statusCode());
+      assertTrue(refusing.body().contains("OUT_OF_SERVICE"), refusing.body());
+    } finally {
+      release.countDown();
+    }
+
+    try (ConfigurableApplicationContext context = started.get(60, SECONDS)) {
+      HttpResponse<String> ready = get(port.get(), "/actuator/health/readiness");
+      assertEquals(200, ready.statusCode());
+      assertTrue(ready.body().contains("\"UP\""), ready.body());
+
+      // 롤백되는 트랜잭션 안에서도 flush 해 insert 까지 실제 JDBC 로 실행했는지 본다.
+      HttpResponse<String> inserts = get(port.get(), "/actuator/metrics/hibernate.entities.inserts");
+      assertEquals(200, inserts.statusCode());
+      assertTrue(inserts.body().contains("\"value\":" + (double) ITERATIONS), inserts.body());
+    }
+  }
+
+  /** BaseService.next 가 처음 불리면( 워밍업 첫 반복 ) release 될 때까지 멈춘다. */
+  private static BeanPostProcessor blockWarmup(CountDownLatch warming, CountDownLatch release) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof BaseService baseService)) {
+          return bean;
+        }
+        BaseService blocking = spy(baseService);
+        doAnswer(
+                invocation -> {
+                  warming.countDown();
+                  assertTrue(release.await(60, SECONDS));
+                  return invocation.callRealMethod();
+                })
+            .when(blocking)
+            .next();
+        return blocking;
+      }
+    };
+  }
+
+  private HttpResponse<String> get(int port, String path) throws Exception {
+    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+    return client.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+}
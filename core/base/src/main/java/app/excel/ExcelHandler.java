@@ -3,6 +3,7 @@ package app.excel;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 import java.io.FileOutputStream;
@@ -14,7 +15,9 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Random;
 
+/** 요청 경로에서 거의 쓰이지 않으므로 처음 주입될 때 생성한다. ( POI 클래스 로딩을 기동 시점에서 제외 ) */
 @Slf4j
+@Lazy
 @Service
 public class ExcelHandler {
   private static final String EXCEL_DIR = "../../data/excel";
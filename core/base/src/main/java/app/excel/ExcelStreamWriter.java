@@ -0,0 +1,95 @@
+package app.excel;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 행 스트림을 SXSSF 로 기록한다. 메모리에는 최근 {@value #ROW_WINDOW} 행만 유지하고 나머지는 임시 파일로 내려보낸다.
+ * 시트 최대 행 수를 넘으면 다음 시트( sheetName_2, _3 ... )로 이어서 기록한다.
+ */
+@Slf4j
+@Lazy
+@Component
+public class ExcelStreamWriter {
+  private static final int ROW_WINDOW = 100;
+  private static final int PROGRESS_LOG_INTERVAL = 100_000;
+
+  private final int maxRowsPerSheet;
+
+  public ExcelStreamWriter() {
+    this(SpreadsheetVersion.EXCEL2007.getMaxRows());
+  }
+
+  ExcelStreamWriter(int maxRowsPerSheet) {
+    this.maxRowsPerSheet = maxRowsPerSheet;
+  }
+
+  /**
+   * @return 기록한 데이터 행 수 ( 헤더 제외 )
+   */
+  public long write(Path file, String sheetName, List<String> headers, Stream<? extends List<?>> rows) {
+    SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+    workbook.setCompressTempFiles(true);
+    try (workbook; OutputStream out = Files.newOutputStream(file)) { // close() 가 임시 파일도 삭제한다.
+      long written = 0;
+      int sheetNo = 1;
+      Sheet sheet = createSheet(workbook, sheetName, sheetNo, headers);
+      int rowIndex = 1;
+
+      Iterator<? extends List<?>> iterator = rows.iterator();
+      while (iterator.hasNext()) {
+        if (rowIndex == maxRowsPerSheet) {
+          sheet = createSheet(workbook, sheetName, ++sheetNo, headers);
+          rowIndex = 1;
+        }
+        writeRow(sheet.createRow(rowIndex++), iterator.next());
+
+        if (++written % PROGRESS_LOG_INTERVAL == 0) {
+          log.info("엑셀 스트리밍 기록 진행 중: {} 행", written);
+        }
+      }
+
+      workbook.write(out);
+      log.info("엑셀 스트리밍 기록 완료: {} ({} 행, {} 시트)", file, written, sheetNo);
+      return written;
+    } catch (IOException e) {
+      log.error("엑셀 스트리밍 기록 중 오류 발생", e);
+      throw new RuntimeException("엑셀 스트리밍 기록 실패", e);
+    }
+  }
+
+  private Sheet createSheet(SXSSFWorkbook workbook, String sheetName, int sheetNo, List<String> headers) {
+    Sheet sheet = workbook.createSheet(sheetNo == 1 ? sheetName : sheetName + "_" + sheetNo);
+    writeRow(sheet.createRow(0), headers);
+    return sheet;
+  }
+
+  private void writeRow(Row row, List<?> values) {
+    for (int i = 0; i < values.size(); i++) {
+      Object value = values.get(i);
+      if (value == null) {
+        continue;
+      }
+      Cell cell = row.createCell(i);
+      if (value instanceof Number number) {
+        cell.setCellValue(number.doubleValue());
+      } else {
+        cell.setCellValue(value.toString());
+      }
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package app.limit;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 지연 시간 기반 적응형 동시성 제한기 ( TCP Vegas 방식 + 실패 시 AIMD 감소 )
+ *
+ * <p>관측된 최소 지연( minRtt )과 현재 지연을 비교해 대기열 길이를 추정하고,
+ * 대기열이 짧으면 limit 을 1 늘리고 길면 1 줄인다. 요청이 실패( dropped )하면 limit 을 비율로 줄인다.
+ * limit 을 넘는 요청은 대기하지 않고 즉시 거절된다.
+ */
+public class AdaptiveLimiter {
+  private static final int ALPHA = 3; // 추정 대기열이 이보다 작으면 증가
+  private static final int BETA = 6; // 추정 대기열이 이보다 크면 감소
+  private static final double BACKOFF_RATIO = 0.9;
+  private static final int PROBE_INTERVAL = 1000; // minRtt 를 다시 측정하는 샘플 주기
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final LongAdder accepted = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+
+  private volatile int limit;
+  private long minRttNanos;
+  private int samplesSinceProbe;
+
+  private AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit) {
+    if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+      throw new IllegalArgumentException("1 <= minLimit <= initialLimit <= maxLimit 이어야 합니다.");
+    }
+    this.limit = initialLimit;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+  }
+
+  /** 팩토리 메서드: AdaptiveLimiter 객체 생성 */
+  public static AdaptiveLimiter of(int initialLimit, int minLimit, int maxLimit) {
+    return new AdaptiveLimiter(initialLimit, minLimit, maxLimit);
+  }
+
+  /** 팩토리 메서드: limit 이 변하지 않는 고정 허가 풀 ( 지연 시간이 길고 들쭉날쭉한 요청용 ) */
+  public static AdaptiveLimiter fixed(int limit) {
+    return new AdaptiveLimiter(limit, limit, limit);
+  }
+
+  /** 현재 limit 안이면 허가를, 넘으면 빈 값을 반환한다. */
+  public Optional<Permit> tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= limit) {
+        rejected.increment();
+        return Optional.empty();
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        accepted.increment();
+        return Optional.of(new Permit(System.nanoTime(), current + 1));
+      }
+    }
+  }
+
+  public int limit() {
+    return limit;
+  }
+
+  public int inFlight() {
+    return inFlight.get();
+  }
+
+  public long acceptedCount() {
+    return accepted.sum();
+  }
+
+  public long rejectedCount() {
+    return rejected.sum();
+  }
+
+  public long droppedCount() {
+    return dropped.sum();
+  }
+
+  public synchronized long minRttNanos() {
+    return minRttNanos;
+  }
+
+  synchronized void onSample(long rttNanos, int inFlightAtStart, boolean isDropped) {
+    if (isDropped) {
+      limit = Math.max(minLimit, (int) (limit * BACKOFF_RATIO));
+      return;
+    }
+
+    if (++samplesSinceProbe >= PROBE_INTERVAL) {
+      samplesSinceProbe = 0;
+      minRttNanos = 0;
+    }
+    if (minRttNanos == 0 || rttNanos < minRttNanos) {
+      minRttNanos = rttNanos;
+    }
+
+    // 사용량이 limit 의 절반도 안되면 지연만으로 limit 을 판단할 수 없다.
+    if (inFlightAtStart * 2 < limit) {
+      return;
+    }
+
+    int queue = (int) Math.ceil(limit * (1 - (double) minRttNanos / Math.max(rttNanos, 1)));
+    if (queue < ALPHA) {
+      limit = Math.min(maxLimit, limit + 1);
+    } else if (queue > BETA) {
+      limit = Math.max(minLimit, limit - 1);
+    }
+  }
+
+  /** 허가된 요청 하나. 처리 결과에 맞는 메서드를 정확히 한 번 호출해야 한다. */
+  public final class Permit {
+    private final long startNanos;
+    private final int inFlightAtStart;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Permit(long startNanos, int inFlightAtStart) {
+      this.startNanos = startNanos;
+      this.inFlightAtStart = inFlightAtStart;
+    }
+
+    /** 정상 처리: 지연 시간을 limit 계산에 반영한다. */
+    public void onSuccess() {
+      if (release()) {
+        onSample(System.nanoTime() - startNanos, inFlightAtStart, false);
+      }
+    }
+
+    /** 과부하로 인한 실패( 타임아웃, 5xx 등 ): limit 을 줄인다. */
+    public void onDropped() {
+      if (release()) {
+        dropped.increment();
+        onSample(System.nanoTime() - startNanos, inFlightAtStart, true);
+      }
+    }
+
+    /** 지연 시간과 무관한 결과( 클라이언트 오류 등 ): 슬롯만 반납한다. */
+    public void onIgnore() {
+      release();
+    }
+
+    private boolean release() {
+      if (released.compareAndSet(false, true)) {
+        inFlight.decrementAndGet();
+        return true;
+      }
+      return false;
+    }
+  }
+}
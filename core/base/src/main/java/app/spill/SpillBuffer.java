@@ -0,0 +1,426 @@
+package app.spill;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 행( 셀 값 목록 )을 힙 밖의 메모리 매핑 세그먼트 파일에 이어 붙이는 스테이징 버퍼.
+ *
+ * <p>쓰기 스레드 하나가 {@link #append(List)} 로 행을 쌓고, 읽기 스레드 하나가 쓰는 도중에도 {@link Reader} 로 행을 따라 읽는다.
+ * 읽기는 매핑된 버퍼를 직접 가리키는 {@link RowView} 로 하므로 행을 힙에 복사하지 않는다.
+ * 다 읽은 세그먼트는 파일을 바로 삭제( unlink )하고 버퍼 참조도 끊는다. 매핑과 디스크 블록은 GC 가 버퍼를 회수할 때 풀린다.
+ * 매핑된 파일을 지울 수 없는 OS( Windows )에서는 삭제를 close 로 미루고, 그래도 실패하면 JVM 종료 시 지운다.
+ *
+ * <p>셀 값은 null, 정수( long ), 실수( double ), 불리언, 문자열( UTF-8 )로 저장한다. 그 밖의 값은 toString 으로 저장한다.
+ */
+@Slf4j
+public class SpillBuffer implements AutoCloseable {
+  public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+  static final byte NULL = 0;
+  static final byte LONG = 1;
+  static final byte DOUBLE = 2;
+  static final byte BOOLEAN = 3;
+  static final byte STRING = 4;
+
+  private static final int ROW_HEADER = Integer.BYTES + Short.BYTES; // 행 길이 + 셀 수
+
+  private final Path dir;
+  private final int segmentSize;
+  private final ConcurrentLinkedQueue<Segment> segments = new ConcurrentLinkedQueue<>(); // 아직 읽는 중인 세그먼트
+  private final ConcurrentLinkedQueue<Path> undeleted = new ConcurrentLinkedQueue<>(); // 삭제에 실패해 close 에서 다시 지울 파일
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition appended = lock.newCondition();
+
+  private Segment head; // 읽기 커서를 열 때까지만 붙잡는다. 이후에는 커서만 세그먼트 체인을 가리킨다.
+  private Segment tail;
+  private ByteBuffer scratch = ByteBuffer.allocate(1024); // 한 행을 인코딩하는 데만 쓴다.
+  private long rowsWritten;
+  private volatile boolean finished;
+  private volatile boolean readerWaiting;
+  private boolean readerOpened;
+
+  private SpillBuffer(Path dir, int segmentSize) {
+    if (segmentSize <= ROW_HEADER) {
+      throw new IllegalArgumentException("세그먼트 크기가 너무 작습니다: " + segmentSize);
+    }
+    this.dir = dir;
+    this.segmentSize = segmentSize;
+    this.head = newSegment();
+    this.tail = head;
+  }
+
+  /** 팩토리 메서드: dir 아래에 세그먼트 파일을 만드는 SpillBuffer 생성 */
+  public static SpillBuffer create(Path dir) {
+    return create(dir, DEFAULT_SEGMENT_SIZE);
+  }
+
+  public static SpillBuffer create(Path dir, int segmentSize) {
+    return new SpillBuffer(dir, segmentSize);
+  }
+
+  /** 행 하나를 추가한다. 세그먼트에 들어가지 않으면 새 세그먼트로 넘어간다. */
+  public void append(List<?> row) {
+    if (finished) {
+      throw new IllegalStateException("이미 finish 된 SpillBuffer 입니다.");
+    }
+    ByteBuffer encoded = encode(row);
+    if (encoded.remaining() > segmentSize) {
+      throw new IllegalArgumentException("행이 세그먼트 크기( " + segmentSize + " bytes )보다 큽니다.");
+    }
+    if (encoded.remaining() > segmentSize - tail.limit) {
+      Segment next = newSegment();
+      tail.next = next;
+      tail.sealed = true; // 다음 세그먼트를 연결한 뒤에 봉인해야 읽기 쪽이 끝으로 오인하지 않는다.
+      tail = next;
+    }
+    tail.buffer.put(tail.limit, encoded, 0, encoded.remaining());
+    tail.limit += encoded.remaining(); // volatile 쓰기로 행을 읽기 쪽에 공개한다.
+    rowsWritten++;
+    signalReader();
+  }
+
+  /** 더 이상 행을 추가하지 않는다. 읽기 쪽은 남은 행을 다 읽으면 끝난다. */
+  public void finish() {
+    finished = true;
+    tail.sealed = true;
+    signalReader();
+  }
+
+  public long rowsWritten() {
+    return rowsWritten;
+  }
+
+  /** 단일 소비자용 읽기 커서. 버퍼 하나에 한 번만 열 수 있다. */
+  public Reader reader() {
+    if (readerOpened) {
+      throw new IllegalStateException("SpillBuffer 는 읽기 커서를 하나만 지원합니다.");
+    }
+    readerOpened = true;
+    Segment first = head;
+    head = null;
+    return new Reader(first);
+  }
+
+  /**
+   * 행을 List 로 꺼내는 스트림 ( ExcelStreamWriter 등 List 기반 API 연결용 ).
+   * 힙에는 현재 행 하나만 올라간다. 쓰기가 끝나지 않았으면 다음 행을 기다린다.
+   */
+  public Stream<List<Object>> rows() {
+    Reader reader = reader();
+    Iterator<List<Object>> iterator = new Iterator<>() {
+      private List<Object> next;
+
+      @Override
+      public boolean hasNext() {
+        if (next == null && reader.next()) {
+          next = reader.row().toList();
+        }
+        return next != null;
+      }
+
+      @Override
+      public List<Object> next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        List<Object> row = next;
+        next = null;
+        return row;
+      }
+    };
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+  }
+
+  /** 남은 세그먼트 파일과 앞서 삭제에 실패한 파일을 지운다. 그래도 지우지 못한 파일은 JVM 종료 시 지운다. */
+  @Override
+  public void close() {
+    finished = true;
+    Segment segment;
+    while ((segment = segments.poll()) != null) {
+      undeleted.add(segment.file);
+    }
+    Path file;
+    while ((file = undeleted.poll()) != null) {
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException e) {
+        log.warn("스필 세그먼트 삭제 실패, JVM 종료 시 다시 삭제합니다: {}", file, e);
+        file.toFile().deleteOnExit();
+      }
+    }
+  }
+
+  /** 아직 다 읽지 않은 세그먼트 수 */
+  int liveSegments() {
+    return segments.size();
+  }
+
+  private Segment newSegment() {
+    try {
+      Path file = Files.createTempFile(dir, "spill-", ".seg");
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+        // 매핑은 채널을 닫아도 유지된다.
+        Segment segment = new Segment(file, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+        segments.add(segment);
+        return segment;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("스필 세그먼트 생성 실패: " + dir, e);
+    }
+  }
+
+  private ByteBuffer encode(List<?> row) {
+    if (row.size() > Short.MAX_VALUE) {
+      throw new IllegalArgumentException("한 행의 셀 수는 " + Short.MAX_VALUE + " 를 넘을 수 없습니다.");
+    }
+    while (true) {
+      try {
+        scratch.clear();
+        scratch.position(ROW_HEADER);
+        for (Object value : row) {
+          encodeCell(value);
+        }
+        scratch.putInt(0, scratch.position());
+        scratch.putShort(Integer.BYTES, (short) row.size());
+        return scratch.flip();
+      } catch (BufferOverflowException e) {
+        scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+      }
+    }
+  }
+
+  private void encodeCell(Object value) {
+    switch (value) {
+      case null -> scratch.put(NULL);
+      case Long number -> scratch.put(LONG).putLong(number);
+      case Integer number -> scratch.put(LONG).putLong(number);
+      case Short number -> scratch.put(LONG).putLong(number);
+      case Byte number -> scratch.put(LONG).putLong(number);
+      case Number number -> scratch.put(DOUBLE).putDouble(number.doubleValue());
+      case Boolean bool -> scratch.put(BOOLEAN).put((byte) (bool ? 1 : 0));
+      default -> {
+        byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+        scratch.put(STRING).putInt(bytes.length).put(bytes);
+      }
+    }
+  }
+
+  private void signalReader() {
+    if (readerWaiting) {
+      lock.lock();
+      try {
+        appended.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  private final class Segment {
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private volatile int limit; // 읽기 쪽에 공개된 바이트 수
+    private volatile boolean sealed; // 더 이상 쓰지 않는다.
+    private volatile Segment next;
+
+    private Segment(Path file, MappedByteBuffer buffer) {
+      this.file = file;
+      this.buffer = buffer;
+    }
+
+    /**
+     * 매핑 해제는 GC 가 하므로 파일만 지운다. 리눅스는 매핑된 파일도 unlink 할 수 있지만 Windows 는 실패하므로,
+     * 실패해도 읽기를 멈추지 않고 close 에서 다시 지운다.
+     */
+    private void delete() {
+      segments.remove(this);
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException e) {
+        log.debug("스필 세그먼트 삭제를 close 로 미룹니다: {} ( {} )", file, e.toString());
+        undeleted.add(file);
+      }
+    }
+  }
+
+  /** 단일 소비자 커서. 다 읽은 세그먼트는 삭제한다. */
+  public final class Reader {
+    private final RowView row = new RowView();
+    private Segment segment;
+    private int position;
+
+    private Reader(Segment first) {
+      this.segment = first;
+    }
+
+    /** 다음 행이 이미 쓰여 있으면 true. 기다리지 않는다. */
+    public boolean tryNext() {
+      while (true) {
+        int limit = segment.limit;
+        if (position < limit) {
+          position = row.reset(segment.buffer, position);
+          return true;
+        }
+        if (!segment.sealed || segment.limit != position || segment.next == null) {
+          return false; // 아직 쓰는 중이거나 finish 된 마지막 세그먼트
+        }
+        Segment consumed = segment;
+        segment = segment.next;
+        position = 0;
+        consumed.next = null; // 체인을 끊어야 다 읽은 세그먼트의 매핑을 GC 가 회수할 수 있다.
+        consumed.delete();
+      }
+    }
+
+    /** 다음 행이 쓰일 때까지 기다린다. 쓰기가 끝나 더 읽을 행이 없으면 false. */
+    public boolean next() {
+      while (!tryNext()) {
+        if (finished && isDrained()) {
+          return false;
+        }
+        lock.lock();
+        try {
+          readerWaiting = true;
+          if (!hasPending() && !(finished && isDrained())) {
+            appended.awaitUninterruptibly();
+          }
+        } finally {
+          readerWaiting = false;
+          lock.unlock();
+        }
+      }
+      return true;
+    }
+
+    /** 현재 행. 다음 next 호출 전까지만 유효하다. */
+    public RowView row() {
+      return row;
+    }
+
+    private boolean hasPending() {
+      return position < segment.limit || segment.sealed;
+    }
+
+    private boolean isDrained() {
+      return segment.sealed && position == segment.limit && segment.next == null;
+    }
+  }
+
+  /** 매핑된 세그먼트 위의 행 하나를 가리키는 뷰 ( 재사용되므로 보관하지 말 것 ) */
+  public static final class RowView {
+    private ByteBuffer buffer;
+    private int[] offsets = new int[16];
+    private int cellCount;
+
+    private RowView() {
+    }
+
+    private int reset(ByteBuffer buffer, int start) {
+      this.buffer = buffer;
+      int end = start + buffer.getInt(start);
+      cellCount = buffer.getShort(start + Integer.BYTES);
+      if (offsets.length < cellCount) {
+        offsets = new int[Math.max(cellCount, offsets.length * 2)];
+      }
+      int offset = start + ROW_HEADER;
+      for (int i = 0; i < cellCount; i++) {
+        offsets[i] = offset;
+        offset += 1 + switch (buffer.get(offset)) {
+          case NULL -> 0;
+          case LONG, DOUBLE -> Long.BYTES;
+          case BOOLEAN -> 1;
+          default -> Integer.BYTES + buffer.getInt(offset + 1);
+        };
+      }
+      return end;
+    }
+
+    public int cellCount() {
+      return cellCount;
+    }
+
+    /** 셀 타입 ( NULL, LONG, DOUBLE, BOOLEAN, STRING ) */
+    public byte type(int cell) {
+      return buffer.get(offset(cell));
+    }
+
+    public boolean isNull(int cell) {
+      return type(cell) == NULL;
+    }
+
+    public long getLong(int cell) {
+      return buffer.getLong(offset(cell, LONG) + 1);
+    }
+
+    public double getDouble(int cell) {
+      return buffer.getDouble(offset(cell, DOUBLE) + 1);
+    }
+
+    public boolean getBoolean(int cell) {
+      return buffer.get(offset(cell, BOOLEAN) + 1) != 0;
+    }
+
+    /** 문자열 셀의 UTF-8 바이트를 복사 없이 가리키는 읽기 전용 버퍼 */
+    public ByteBuffer getUtf8(int cell) {
+      int offset = offset(cell, STRING);
+      return buffer.slice(offset + 1 + Integer.BYTES, buffer.getInt(offset + 1)).asReadOnlyBuffer();
+    }
+
+    public String getString(int cell) {
+      return StandardCharsets.UTF_8.decode(getUtf8(cell)).toString();
+    }
+
+    /** 셀 값을 꺼내 List 로 만든다. ( 힙 복사 ) */
+    public List<Object> toList() {
+      List<Object> values = new ArrayList<>(cellCount);
+      for (int i = 0; i < cellCount; i++) {
+        values.add(switch (type(i)) {
+          case NULL -> null;
+          case LONG -> getLong(i);
+          case DOUBLE -> getDouble(i);
+          case BOOLEAN -> getBoolean(i);
+          default -> getString(i);
+        });
+      }
+      return values;
+    }
+
+    private int offset(int cell) {
+      if (cell < 0 || cell >= cellCount) {
+        throw new IndexOutOfBoundsException("셀 인덱스 " + cell + " ( 셀 수 " + cellCount + " )");
+      }
+      return offsets[cell];
+    }
+
+    private int offset(int cell, byte expected) {
+      int offset = offset(cell);
+      if (buffer.get(offset) != expected) {
+        throw new IllegalStateException(cell + " 번 셀의 타입이 " + buffer.get(offset) + " 입니다. ( 기대값 " + expected + " )");
+      }
+      return offset;
+    }
+  }
+}
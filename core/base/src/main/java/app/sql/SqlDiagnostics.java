@@ -0,0 +1,20 @@
+package app.sql;
+
+/**
+ * SQL 실행 진단 정보 조회. 구현은 저장소 모듈( storage:rdb )이 제공한다.
+ */
+public interface SqlDiagnostics {
+
+  /** 현재 스레드에서 실행되는 SQL 을 name 단위( 요청 등 )로 묶어 N+1 을 감지한다. */
+  Scope openScope(String name);
+
+  SqlReport report();
+
+  /** 누적된 통계를 비운다. */
+  void reset();
+
+  interface Scope extends AutoCloseable {
+    @Override
+    void close();
+  }
+}
@@ -0,0 +1,23 @@
+package app.sql;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * @param statements SQL 별 실행 통계 ( 총 소요 시간 순 )
+ * @param slowest    임계값을 넘은 SQL 중 가장 느린 것들 ( 느린 순 )
+ * @param nPlusOnes  최근 감지된 N+1 의심 패턴
+ */
+public record SqlReport(
+    List<StatementStats> statements, List<SlowStatement> slowest, List<NPlusOne> nPlusOnes) {
+
+  /**
+   * @param avgBatchSize 배치 실행 시 실제로 묶인 평균 건수 ( 배치가 아니면 1 )
+   */
+  public record StatementStats(
+      String sql, long count, double totalMs, double avgMs, double maxMs, double avgBatchSize) {}
+
+  public record SlowStatement(String sql, double elapsedMs, int batchSize, String scope, Instant at) {}
+
+  public record NPlusOne(String scope, String sql, int count, Instant at) {}
+}
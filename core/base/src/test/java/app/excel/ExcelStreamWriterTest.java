@@ -0,0 +1,63 @@
+package app.excel;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExcelStreamWriterTest {
+
+  @TempDir Path dir;
+
+  @Test
+  @DisplayName("행 스트림을 헤더와 함께 시트에 기록한다")
+  void write() throws IOException {
+    Path file = dir.resolve("export.xlsx");
+
+    long written =
+        new ExcelStreamWriter()
+            .write(
+                file,
+                "Base",
+                List.of("id", "name"),
+                LongStream.rangeClosed(1, 1000).mapToObj(id -> List.of(id, "name_" + id)));
+
+    assertEquals(1000, written);
+    try (InputStream in = Files.newInputStream(file);
+        Workbook workbook = new XSSFWorkbook(in)) {
+      Sheet sheet = workbook.getSheet("Base");
+      assertEquals("id", sheet.getRow(0).getCell(0).getStringCellValue());
+      assertEquals(1.0, sheet.getRow(1).getCell(0).getNumericCellValue());
+      assertEquals("name_1000", sheet.getRow(1000).getCell(1).getStringCellValue());
+    }
+  }
+
+  @Test
+  @DisplayName("시트 최대 행 수를 넘으면 다음 시트로 이어서 기록한다")
+  void rollOverToNextSheet() throws IOException {
+    Path file = dir.resolve("rollover.xlsx");
+
+    long written =
+        new ExcelStreamWriter(10)
+            .write(file, "Base", List.of("id"), LongStream.rangeClosed(1, 20).mapToObj(List::of));
+
+    assertEquals(20, written);
+    try (InputStream in = Files.newInputStream(file);
+        Workbook workbook = new XSSFWorkbook(in)) {
+      assertEquals(3, workbook.getNumberOfSheets()); // 시트당 헤더 + 9 행
+      assertEquals(10.0, workbook.getSheet("Base_2").getRow(1).getCell(0).getNumericCellValue());
+      assertEquals(20.0, workbook.getSheet("Base_3").getRow(2).getCell(0).getNumericCellValue());
+    }
+  }
+}
@@ -0,0 +1,162 @@
+package app.limit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveLimiterTest {
+
+  @Nested
+  @DisplayName("AdaptiveLimiter의 기본적인 사용법")
+  class BasicUse {
+
+    @Test
+    @DisplayName("limit 만큼 허가하고 초과한 요청은 즉시 거절한다")
+    void rejectsOverLimit() {
+      AdaptiveLimiter limiter = AdaptiveLimiter.of(2, 1, 10);
+
+      Optional<AdaptiveLimiter.Permit> first = limiter.tryAcquire();
+      Optional<AdaptiveLimiter.Permit> second = limiter.tryAcquire();
+      Optional<AdaptiveLimiter.Permit> third = limiter.tryAcquire();
+
+      assertTrue(first.isPresent());
+      assertTrue(second.isPresent());
+      assertTrue(third.isEmpty());
+      assertEquals(2, limiter.inFlight());
+      assertEquals(1, limiter.rejectedCount());
+
+      first.get().onIgnore();
+      assertEquals(1, limiter.inFlight());
+      assertTrue(limiter.tryAcquire().isPresent());
+    }
+
+    @Test
+    @DisplayName("허가는 여러 번 반납해도 한 번만 반영된다")
+    void releaseOnce() {
+      AdaptiveLimiter limiter = AdaptiveLimiter.of(2, 1, 10);
+      AdaptiveLimiter.Permit permit = limiter.tryAcquire().orElseThrow();
+
+      permit.onSuccess();
+      permit.onDropped();
+
+      assertEquals(0, limiter.inFlight());
+      assertEquals(0, limiter.droppedCount());
+    }
+
+    @Test
+    @DisplayName("지연 시간이 최소 지연과 같으면 limit 을 늘린다")
+    void increaseWhenLatencyIsFlat() {
+      AdaptiveLimiter limiter = AdaptiveLimiter.of(10, 1, 100);
+
+      limiter.onSample(1_000_000, 10, false);
+      limiter.onSample(1_000_000, 10, false);
+
+      assertEquals(12, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("지연 시간이 늘어나면 대기열이 생긴 것으로 보고 limit 을 줄인다")
+    void decreaseWhenLatencyGrows() {
+      AdaptiveLimiter limiter = AdaptiveLimiter.of(20, 1, 100);
+
+      limiter.onSample(1_000_000, 20, false); // minRtt = 1ms, limit 21
+      limiter.onSample(4_000_000, 21, false); // 대기열 추정 16 > BETA
+
+      assertEquals(20, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("사용량이 limit 의 절반보다 적으면 limit 을 바꾸지 않는다")
+    void ignoreWhenUnderused() {
+      AdaptiveLimiter limiter = AdaptiveLimiter.of(20, 1, 100);
+
+      limiter.onSample(1_000_000, 2, false);
+      limiter.onSample(9_000_000, 2, false);
+
+      assertEquals(20, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("실패하면 limit 을 비율로 줄이되 최소값 아래로는 내려가지 않는다")
+    void backoffOnDrop() {
+      AdaptiveLimiter limiter = AdaptiveLimiter.of(20, 15, 100);
+
+      limiter.onSample(1_000_000, 20, true);
+      assertEquals(18, limiter.limit());
+
+      limiter.onSample(1_000_000, 18, true);
+      limiter.onSample(1_000_000, 16, true);
+      assertEquals(15, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("고정 허가 풀은 지연 시간이나 실패와 무관하게 limit 을 유지한다")
+    void fixedLimit() {
+      AdaptiveLimiter limiter = AdaptiveLimiter.fixed(4);
+
+      limiter.onSample(1_000_000, 4, false);
+      limiter.onSample(90_000_000, 4, false);
+      limiter.onSample(1_000_000, 4, true);
+
+      assertEquals(4, limiter.limit());
+    }
+  }
+
+  /**
+   * onSample 은 요청마다 synchronized 로 실행되므로 제한기 자체 비용을 잰다. 실제 시간으로 재는 테스트라 기본 test 에서는 제외한다.
+   * ( ./gradlew :core:base:loadTest ) 과부하에서 p99 를 지키는지는 실제 /api 에 부하를 거는 api 의 ApiOverloadTest 가 확인한다.
+   *
+   * <p>/api 한 요청은 1 ms 안팎이므로 제한기 비용은 그 1% 인 10 µs 를 넘지 않아야 하고, 경합이 없으면 그 1/10 인 1 µs 안이어야 한다.
+   * 실제 비용은 수십 ns 라 CI 에서도 여유가 크다.
+   */
+  @Nested
+  @Tag("load")
+  @DisplayName("제한기 자체 비용")
+  class Overhead {
+    private static final int OPERATIONS = 2_000_000;
+    private static final int THREADS = 8;
+
+    @Test
+    @DisplayName("경합이 없으면 허가 획득과 반납이 1 µs 안에 끝난다")
+    void uncontended() {
+      AdaptiveLimiter limiter = AdaptiveLimiter.fixed(1); // 사용량이 limit 이상이라 onSample 이 매번 끝까지 계산한다.
+      cycles(limiter, OPERATIONS / 10); // JIT 워밍업
+
+      long started = System.nanoTime();
+      cycles(limiter, OPERATIONS);
+      double nanosPerOperation = (System.nanoTime() - started) / (double) OPERATIONS;
+
+      assertTrue(nanosPerOperation < 1_000, "uncontended " + nanosPerOperation + " ns/op");
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 경합해도 허가 획득과 반납이 평균 10 µs 안에 끝난다")
+    void contended() throws InterruptedException {
+      AdaptiveLimiter limiter = AdaptiveLimiter.fixed(THREADS / 2); // 거절 경로도 함께 지난다.
+      cycles(limiter, OPERATIONS / 10);
+
+      long started = System.nanoTime();
+      try (ExecutorService threads = Executors.newFixedThreadPool(THREADS)) {
+        IntStream.range(0, THREADS).forEach(i -> threads.submit(() -> cycles(limiter, OPERATIONS / THREADS)));
+      }
+      double nanosPerOperation = (System.nanoTime() - started) / (double) OPERATIONS;
+
+      assertEquals(0, limiter.inFlight());
+      assertTrue(nanosPerOperation < 10_000, "contended " + nanosPerOperation + " ns/op");
+    }
+
+    private void cycles(AdaptiveLimiter limiter, int operations) {
+      for (int i = 0; i < operations; i++) {
+        limiter.tryAcquire().ifPresent(AdaptiveLimiter.Permit::onSuccess);
+      }
+    }
+  }
+}
@@ -0,0 +1,205 @@
+package app.spill;
+
+import app.excel.ExcelStreamWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpillBufferTest {
+
+  @TempDir Path dir;
+
+  @Test
+  @DisplayName("셀 타입별 값을 그대로 읽어 낸다")
+  void roundTrip() {
+    try (SpillBuffer buffer = SpillBuffer.create(dir, 4096)) {
+      buffer.append(Arrays.asList(1L, 7, 2.5, true, "이름", null, 'x'));
+      buffer.finish();
+
+      SpillBuffer.Reader reader = buffer.reader();
+      assertTrue(reader.next());
+      SpillBuffer.RowView row = reader.row();
+      assertEquals(7, row.cellCount());
+      assertEquals(1L, row.getLong(0));
+      assertEquals(7L, row.getLong(1));
+      assertEquals(2.5, row.getDouble(2));
+      assertTrue(row.getBoolean(3));
+      assertEquals("이름", row.getString(4));
+      assertTrue(row.isNull(5));
+      assertEquals("x", row.getString(6));
+      assertThrows(IllegalStateException.class, () -> row.getLong(4));
+      assertFalse(reader.next());
+    }
+  }
+
+  @Test
+  @DisplayName("세그먼트를 넘겨 쓰고, 다 읽은 세그먼트 파일은 삭제한다")
+  void deletesConsumedSegments() throws IOException {
+    try (SpillBuffer buffer = SpillBuffer.create(dir, 1024)) {
+      for (long id = 1; id <= 1000; id++) {
+        buffer.append(List.of(id, "name_" + id));
+      }
+      buffer.finish();
+      int written = buffer.liveSegments();
+      assertTrue(written > 10, "작은 세그먼트로 여러 파일에 나누어 써야 합니다.");
+      assertEquals(written, segmentFiles());
+
+      SpillBuffer.Reader reader = buffer.reader();
+      long expected = 1;
+      while (reader.next()) {
+        assertEquals(expected, reader.row().getLong(0));
+        assertEquals("name_" + expected, reader.row().getString(1));
+        expected++;
+      }
+      assertEquals(1001, expected);
+      assertEquals(1, buffer.liveSegments(), "마지막 세그먼트만 남아야 합니다.");
+    }
+    assertEquals(0, segmentFiles(), "close 하면 남은 세그먼트도 삭제해야 합니다.");
+  }
+
+  @Test
+  @DisplayName("다 읽은 세그먼트는 파일을 지우고 매핑도 GC 로 회수된다")
+  void releasesConsumedMappings() throws IOException, InterruptedException {
+    long before = mappedBuffers();
+    try (SpillBuffer buffer = SpillBuffer.create(dir, 1024)) {
+      for (long id = 1; id <= 5000; id++) {
+        buffer.append(List.of(id, "name_" + id));
+      }
+      buffer.finish();
+      int written = buffer.liveSegments();
+      assertTrue(written > 50);
+      assertTrue(mappedBuffers() - before >= written);
+
+      SpillBuffer.Reader reader = buffer.reader();
+      while (reader.next()) {
+        reader.row().getLong(0);
+      }
+      assertEquals(1, segmentFiles());
+
+      // 매핑 해제는 GC 후 Cleaner 가 비동기로 하므로 잠시 기다린다.
+      long deadline = System.nanoTime() + 10_000_000_000L;
+      while (mappedBuffers() - before > 1 && System.nanoTime() < deadline) {
+        System.gc();
+        Thread.sleep(50);
+      }
+      assertTrue(mappedBuffers() - before <= 1, "마지막 세그먼트만 매핑되어 있어야 합니다. " + (mappedBuffers() - before));
+    }
+  }
+
+  @Test
+  @DisplayName("다 읽은 세그먼트를 지우지 못해도 계속 읽고, close 에서 다시 지운다")
+  void retriesFailedDeletesOnClose() throws IOException {
+    List<Path> blockers;
+    try (SpillBuffer buffer = SpillBuffer.create(dir, 1024)) {
+      for (long id = 1; id <= 200; id++) {
+        buffer.append(List.of(id, "name_" + id));
+      }
+      buffer.finish();
+      // 매핑된 파일을 지울 수 없는 OS 처럼, 세그먼트 파일 자리를 비어 있지 않은 디렉터리로 바꿔 삭제가 실패하게 한다.
+      blockers = segmentPaths().stream().map(SpillBufferTest::blockDelete).toList();
+
+      SpillBuffer.Reader reader = buffer.reader();
+      long rows = 0;
+      while (reader.next()) {
+        rows++;
+      }
+      assertEquals(200, rows);
+      assertEquals(1, buffer.liveSegments());
+      assertEquals(blockers.size(), segmentFiles(), "삭제하지 못한 세그먼트는 남아 있어야 합니다.");
+
+      for (Path blocker : blockers) {
+        Files.delete(blocker);
+      }
+    }
+    assertEquals(0, segmentFiles(), "close 에서 삭제를 다시 시도해야 합니다.");
+  }
+
+  @Test
+  @DisplayName("쓰는 도중에도 다른 스레드가 행을 따라 읽는다")
+  void readWhileWriting() {
+    int rows = 200_000;
+    try (SpillBuffer buffer = SpillBuffer.create(dir, 64 * 1024)) {
+      SpillBuffer.Reader reader = buffer.reader();
+      CompletableFuture<Long> sum =
+          CompletableFuture.supplyAsync(
+              () -> {
+                long total = 0;
+                while (reader.next()) {
+                  total += reader.row().getLong(0);
+                }
+                return total;
+              });
+
+      for (long id = 1; id <= rows; id++) {
+        buffer.append(List.of(id, "row"));
+      }
+      buffer.finish();
+
+      assertEquals((long) rows * (rows + 1) / 2, sum.join());
+      assertEquals(1, buffer.liveSegments());
+    }
+  }
+
+  @Test
+  @DisplayName("rows() 스트림으로 ExcelStreamWriter 에 바로 넘길 수 있다")
+  void streamToExcel() {
+    try (SpillBuffer buffer = SpillBuffer.create(dir, 4096)) {
+      for (long id = 1; id <= 300; id++) {
+        buffer.append(List.of(id, "name_" + id));
+      }
+      buffer.finish();
+
+      long written =
+          new ExcelStreamWriter()
+              .write(dir.resolve("spill.xlsx"), "Base", List.of("id", "name"), buffer.rows());
+      assertEquals(300, written);
+    }
+  }
+
+  @Test
+  @DisplayName("세그먼트보다 큰 행은 거절한다")
+  void rejectsOversizedRow() {
+    try (SpillBuffer buffer = SpillBuffer.create(dir, 64)) {
+      assertThrows(IllegalArgumentException.class, () -> buffer.append(List.of("x".repeat(100))));
+    }
+  }
+
+  private static long mappedBuffers() {
+    return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+        .filter(pool -> pool.getName().equals("mapped"))
+        .mapToLong(BufferPoolMXBean::getCount)
+        .sum();
+  }
+
+  private long segmentFiles() throws IOException {
+    return segmentPaths().size();
+  }
+
+  private List<Path> segmentPaths() throws IOException {
+    try (Stream<Path> files = Files.list(dir)) {
+      return files.filter(file -> file.getFileName().toString().endsWith(".seg")).toList();
+    }
+  }
+
+  private static Path blockDelete(Path segment) {
+    try {
+      Files.delete(segment);
+      return Files.createFile(Files.createDirectory(segment).resolve("blocker"));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package app.base;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import lombok.AccessLevel;
@@ -11,6 +12,7 @@ import lombok.ToString;
 @ToString
 @Getter
 @Entity
+@Cacheable
 @AllArgsConstructor(access = AccessLevel.PROTECTED)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Base {
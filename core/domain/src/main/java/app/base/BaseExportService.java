@@ -0,0 +1,46 @@
+package app.base;
+
+import app.excel.ExcelStreamWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/** Base 를 힙에 모으지 않고 커서로 읽어 엑셀로 내보낸다. */
+@Lazy
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class BaseExportService {
+    private static final String SHEET_NAME = "Base";
+    private static final List<String> HEADERS = List.of("id");
+
+    private final BaseRepository baseRepository;
+    private final ExcelStreamWriter excelStreamWriter;
+
+    /** 전체 내보내기 */
+    public BaseExport exportAll(Path file) {
+        return exportAfter(file, Long.MIN_VALUE);
+    }
+
+    /** watermark 이후의 행만 내보낸다. 반환된 watermark 를 다음 증분 내보내기에 사용한다. */
+    public BaseExport exportAfter(Path file, long watermark) {
+        AtomicLong lastId = new AtomicLong(watermark);
+        try (Stream<Base> bases = baseRepository.streamAfter(watermark)) {
+            long rows = excelStreamWriter.write(
+                    file,
+                    SHEET_NAME,
+                    HEADERS,
+                    bases.peek(base -> lastId.set(base.getId())).map(base -> List.of(base.getId())));
+            return new BaseExport(file, rows, lastId.get());
+        }
+    }
+
+    public record BaseExport(Path file, long rows, long watermark) {
+    }
+}
@@ -1,9 +1,25 @@
 package app.base;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BaseRepository {
     Optional<Base> findById(Long id);
 
     Base save(Base base);
+
+    List<Base> findAllByIdIn(Collection<Long> ids);
+
+    /** 신규 Base 를 merge 없이 배치 insert 한다. ( 하나의 트랜잭션 ) */
+    List<Base> insertAll(List<Base> bases);
+
+    Optional<Long> findMaxId();
+
+    /**
+     * id 가 watermark 보다 큰 Base 를 id 순으로 스크롤한다. ( 읽기 전용, 준영속 )
+     * 읽기 전용 트랜잭션 안에서 소비하고 반드시 닫아야 한다.
+     */
+    Stream<Base> streamAfter(Long watermark);
 }
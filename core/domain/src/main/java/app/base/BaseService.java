@@ -3,13 +3,37 @@ package app.base;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
 @Service
 @RequiredArgsConstructor
 public class BaseService {
     private final BaseRepository baseRepository;
+    private final AtomicLong lastId = new AtomicLong(); // 이 인스턴스가 마지막으로 할당한 id
 
     public Base next() {
         Base base = new Base(1L);
         return baseRepository.save(base);
     }
+
+    /** 새 id 를 size 개 할당해 한 번에 저장한다. */
+    public List<Base> nextBatch(int size) {
+        long firstId = allocate(size);
+        List<Base> bases = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            bases.add(new Base(firstId + i));
+        }
+        return baseRepository.insertAll(bases);
+    }
+
+    /**
+     * 배치마다 저장소의 최대 id 를 다시 읽어, 다른 인스턴스나 next() 가 그 사이 저장한 id 를 건너뛴다.
+     * 최대 id 조회와 insert 사이에 다른 인스턴스가 같은 범위를 쓰면 insertAll 이 키 중복으로 실패한다.
+     */
+    private long allocate(int size) {
+        long storedMax = baseRepository.findMaxId().orElse(0L);
+        return lastId.updateAndGet(last -> Math.max(last, storedMax) + size) - size + 1;
+    }
 }
@@ -0,0 +1,9 @@
+package app.base;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveBaseRepository {
+    Mono<Base> findById(Long id);
+
+    Mono<Base> save(Base base);
+}
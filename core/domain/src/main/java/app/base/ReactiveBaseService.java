@@ -0,0 +1,14 @@
+package app.base;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/** BaseService의 논블로킹 버전 ( 컴포넌트 스캔 대상이 아니며 api-reactive 가 빈으로 등록한다 ) */
+@RequiredArgsConstructor
+public class ReactiveBaseService {
+    private final ReactiveBaseRepository reactiveBaseRepository;
+
+    public Mono<Base> next() {
+        return Mono.defer(() -> reactiveBaseRepository.save(new Base(1L)));
+    }
+}
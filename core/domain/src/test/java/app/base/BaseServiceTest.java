@@ -0,0 +1,99 @@
+package app.base;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BaseServiceTest {
+  InMemoryBaseRepository repository = new InMemoryBaseRepository();
+  BaseService baseService = new BaseService(repository);
+
+  @Test
+  @DisplayName("저장소의 최대 id 다음부터 연속된 id 를 할당한다")
+  void allocatesAfterStoredMax() {
+    repository.insertAll(List.of(BaseFixture.of(41L), BaseFixture.of(42L)));
+
+    assertEquals(ids(43, 45), ids(baseService.nextBatch(3)));
+    assertEquals(ids(46, 47), ids(baseService.nextBatch(2)));
+  }
+
+  @Test
+  @DisplayName("다른 인스턴스가 그 사이 저장한 id 를 건너뛴다")
+  void skipsIdsStoredByOthers() {
+    baseService.nextBatch(10);
+    repository.insertAll(List.of(BaseFixture.of(100L))); // 다른 인스턴스
+
+    assertEquals(ids(101, 105), ids(baseService.nextBatch(5)));
+  }
+
+  @Test
+  @DisplayName("빈 저장소에서 next() 가 저장한 id 1 과 겹치지 않는다")
+  void doesNotCollideWithNext() {
+    baseService.next();
+
+    assertEquals(ids(2, 3), ids(baseService.nextBatch(2)));
+    assertEquals(3, repository.count());
+  }
+
+  private static List<Long> ids(long from, long to) {
+    return LongStream.rangeClosed(from, to).boxed().toList();
+  }
+
+  private static List<Long> ids(List<Base> bases) {
+    return bases.stream().map(Base::getId).toList();
+  }
+
+  /** 키 중복 insert 를 거절하는 메모리 저장소 */
+  static class InMemoryBaseRepository implements BaseRepository {
+    private final TreeMap<Long, Base> rows = new TreeMap<>();
+
+    @Override
+    public Optional<Base> findById(Long id) {
+      return Optional.ofNullable(rows.get(id));
+    }
+
+    @Override
+    public Base save(Base base) {
+      rows.putIfAbsent(base.getId(), base);
+      return rows.get(base.getId());
+    }
+
+    @Override
+    public List<Base> findAllByIdIn(Collection<Long> ids) {
+      return ids.stream().map(rows::get).filter(base -> base != null).toList();
+    }
+
+    @Override
+    public List<Base> insertAll(List<Base> bases) {
+      bases.forEach(
+          base -> {
+            if (rows.putIfAbsent(base.getId(), base) != null) {
+              throw new IllegalStateException("중복 id: " + base.getId());
+            }
+          });
+      return bases;
+    }
+
+    @Override
+    public Optional<Long> findMaxId() {
+      return rows.isEmpty() ? Optional.empty() : Optional.of(rows.lastKey());
+    }
+
+    @Override
+    public Stream<Base> streamAfter(Long watermark) {
+      return rows.tailMap(watermark, false).values().stream();
+    }
+
+    int count() {
+      return rows.size();
+    }
+  }
+}
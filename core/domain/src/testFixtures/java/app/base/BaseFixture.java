@@ -0,0 +1,10 @@
+package app.base;
+
+/** Base 생성자가 protected 이므로 테스트에서 사용할 팩토리 */
+public final class BaseFixture {
+  private BaseFixture() {}
+
+  public static Base of(Long id) {
+    return new Base(id);
+  }
+}
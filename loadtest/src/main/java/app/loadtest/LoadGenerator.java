@@ -0,0 +1,109 @@
+package app.loadtest;
+
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 고정 도착률( open model )로 요청을 보낸다. 요청마다 가상 스레드 하나를 쓰므로 서버가 느려져도 보내는 속도는 줄지 않는다.
+ *
+ * <p>지연 시간은 실제 전송 시각이 아니라 예정 도착 시각부터 잰다.
+ * 스케줄러가 밀려 늦게 보낸 요청도 그만큼 느린 응답으로 기록되어 coordinated omission 을 피한다.
+ * 타임아웃, 연결 실패도 실패한 시점까지의 지연으로 전체 분포에 넣어, 과부하에서 가장 느린 요청이 p99 에서 빠지지 않게 한다.
+ * 빠른 거절( 503, 429 )이 p99 를 끌어내리지 않도록 성공과 거절은 분포를 따로 둔다.
+ */
+public class LoadGenerator {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final LoadTestOptions options;
+
+    public LoadGenerator(LoadTestOptions options) {
+        this.options = options;
+    }
+
+    public LoadResult run() {
+        Recorder all = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        Recorder successes = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        Recorder rejections = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        LongAdder succeeded = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        LongAdder failed = new LongAdder();
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long warmupRequests = options.warmup().toSeconds() * options.rate();
+        long totalRequests = warmupRequests + options.duration().toSeconds() * options.rate();
+        HttpRequest request = request();
+
+        try (HttpClient client = HttpClient.newBuilder().connectTimeout(options.timeout()).build();
+             ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            long measureStart = start + warmupRequests * intervalNanos;
+            for (long i = 0; i < totalRequests; i++) {
+                long intended = start + i * intervalNanos;
+                parkUntil(intended);
+                boolean measured = i >= warmupRequests;
+                virtualThreads.execute(() -> {
+                    int status;
+                    try {
+                        status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception e) {
+                        status = -1; // 타임아웃, 연결 실패
+                    }
+                    if (!measured) {
+                        return;
+                    }
+                    long latency = Math.min(micros(System.nanoTime() - intended), HIGHEST_TRACKABLE_MICROS);
+                    all.recordValue(latency);
+                    if (isRejection(status)) {
+                        rejections.recordValue(latency);
+                        rejected.increment();
+                    } else if (status >= 200 && status < 400) {
+                        successes.recordValue(latency);
+                        succeeded.increment();
+                    } else {
+                        failed.increment();
+                    }
+                });
+            }
+            // 마지막 요청의 응답까지 측정 구간에 포함한다.
+            virtualThreads.shutdown();
+            virtualThreads.awaitTermination(options.timeout().toMillis() * 2, TimeUnit.MILLISECONDS);
+            long elapsedNanos = System.nanoTime() - measureStart;
+            return new LoadResult(all.getIntervalHistogram(), successes.getIntervalHistogram(),
+                    rejections.getIntervalHistogram(), succeeded.sum(), rejected.sum(), failed.sum(), elapsedNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("부하 생성이 중단되었습니다.", e);
+        }
+    }
+
+    /** 서버가 부하를 이유로 거절한 응답 ( 동시성 제한기 503, rate limit 429 ) */
+    private static boolean isRejection(int status) {
+        return status == 503 || status == 429;
+    }
+
+    private HttpRequest request() {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(options.target()).timeout(options.timeout());
+        return options.method().equals("POST")
+                ? builder.POST(HttpRequest.BodyPublishers.noBody()).build()
+                : builder.GET().build();
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
@@ -0,0 +1,79 @@
+package app.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 부하 테스트 결과를 label.txt ( 지표 ) 와 label.hgrm, label.success.hgrm ( 전체, 성공 응답의 HdrHistogram 백분위 분포 ) 로
+ * 남기고, 이전 리포트와 비교한다.
+ * label.txt 는 "key = value" 형식이라 다른 실행의 리포트를 그대로 baseline 으로 읽을 수 있다.
+ */
+public final class LoadReport {
+
+    private LoadReport() {
+    }
+
+    /** @return 지표 리포트 파일 */
+    public static Path write(LoadTestOptions options, LoadResult result) {
+        try {
+            Files.createDirectories(options.reportDir());
+            Path report = options.reportDir().resolve(options.label() + ".txt");
+            List<String> lines = new ArrayList<>();
+            lines.add("# " + options.method() + " " + options.target()
+                    + " rate=" + options.rate() + "/s warmup=" + options.warmup().toSeconds() + "s duration="
+                    + options.duration().toSeconds() + "s");
+            result.metrics().forEach((key, value) -> lines.add(key + " = " + String.format("%.3f", value)));
+            Files.write(report, lines);
+
+            writeDistribution(options.reportDir().resolve(options.label() + ".hgrm"), result.latency());
+            writeDistribution(options.reportDir().resolve(options.label() + ".success.hgrm"), result.successLatency());
+            return report;
+        } catch (IOException e) {
+            throw new UncheckedIOException("부하 테스트 리포트 기록 실패: " + options.reportDir(), e);
+        }
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, 1000.0); // ms 단위
+        }
+    }
+
+    /** 지표별 baseline, 현재 값, 변화율 표 */
+    public static List<String> compare(Path baseline, LoadResult result) {
+        Map<String, Double> before = read(baseline);
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("%-26s %12s %12s %9s", "metric", "baseline", "current", "change"));
+        result.metrics().forEach((key, after) -> {
+            Double previous = before.get(key);
+            String change = previous == null || previous == 0 ? "-" : String.format("%+.1f%%", (after - previous) / previous * 100);
+            lines.add(String.format("%-26s %12s %12.3f %9s", key, previous == null ? "-" : String.format("%.3f", previous), after, change));
+        });
+        return lines;
+    }
+
+    static Map<String, Double> read(Path report) {
+        try {
+            Map<String, Double> metrics = new LinkedHashMap<>();
+            for (String line : Files.readAllLines(report)) {
+                int separator = line.indexOf('=');
+                if (line.startsWith("#") || separator < 0) {
+                    continue;
+                }
+                metrics.put(line.substring(0, separator).trim(), Double.parseDouble(line.substring(separator + 1).trim()));
+            }
+            return metrics;
+        } catch (IOException e) {
+            throw new UncheckedIOException("baseline 리포트를 읽을 수 없습니다: " + report, e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package app.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @param latency         측정 구간 모든 요청의 지연 ( 마이크로초, 예정 도착 시각 기준 ). 타임아웃, 실패는 실패한 시점까지의 지연
+ * @param successLatency  성공 응답만의 지연
+ * @param rejectedLatency 거절 응답만의 지연
+ * @param succeeded       2xx / 3xx 응답 수
+ * @param rejected        503 ( 동시성 제한기 ), 429 응답 수
+ * @param failed          그 밖의 오류 응답 및 타임아웃 수
+ * @param elapsedNanos    측정 구간 시작부터 마지막 응답까지 걸린 시간
+ */
+public record LoadResult(Histogram latency,
+                         Histogram successLatency,
+                         Histogram rejectedLatency,
+                         long succeeded,
+                         long rejected,
+                         long failed,
+                         long elapsedNanos) {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    /** 초당 성공 응답 수 */
+    public double throughput() {
+        return succeeded / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /** 리포트와 비교에 쓰는 지표 ( 지연은 ms ) */
+    public Map<String, Double> metrics() {
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        metrics.put("throughput.rps", throughput());
+        metrics.put("succeeded", (double) succeeded);
+        metrics.put("rejected", (double) rejected);
+        metrics.put("failed", (double) failed);
+        putLatency(metrics, "latency", latency);
+        putLatency(metrics, "success.latency", successLatency);
+        putLatency(metrics, "rejected.latency", rejectedLatency);
+        return metrics;
+    }
+
+    private static void putLatency(Map<String, Double> metrics, String prefix, Histogram histogram) {
+        metrics.put(prefix + ".mean.ms", histogram.getMean() / 1000);
+        for (double percentile : PERCENTILES) {
+            metrics.put(prefix + ".p" + format(percentile) + ".ms", histogram.getValueAtPercentile(percentile) / 1000.0);
+        }
+        metrics.put(prefix + ".max.ms", histogram.getMaxValue() / 1000.0);
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
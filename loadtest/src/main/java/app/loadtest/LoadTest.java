@@ -0,0 +1,32 @@
+package app.loadtest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 부하 테스트 진입점. 보통은 ./gradlew :loadtest:loadTest 로 api 를 띄운 뒤 실행한다.
+ *
+ * <pre>
+ * java app.loadtest.LoadTest --target=http://localhost:18081/api --rate=200 --warmup=10 --duration=30 \
+ *     --label=after --baseline=build/reports/loadtest/before.txt
+ * </pre>
+ */
+public class LoadTest {
+
+    public static void main(String[] args) {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        System.out.printf("부하 테스트 시작 : %s %s, %d req/s, 워밍업 %ds, 측정 %ds%n",
+                options.method(), options.target(), options.rate(),
+                options.warmup().toSeconds(), options.duration().toSeconds());
+
+        LoadResult result = new LoadGenerator(options).run();
+        Path report = LoadReport.write(options, result);
+
+        result.metrics().forEach((key, value) -> System.out.printf("%-26s %12.3f%n", key, value));
+        System.out.println("리포트 : " + report.toAbsolutePath());
+        options.baseline().filter(Files::exists).ifPresent(baseline -> {
+            System.out.println("baseline 비교 : " + baseline);
+            LoadReport.compare(baseline, result).forEach(System.out::println);
+        });
+    }
+}
@@ -0,0 +1,61 @@
+package app.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * @param target   요청 보낼 URL
+ * @param method   HTTP 메서드 ( GET, POST )
+ * @param rate     초당 요청 도착 수 ( 응답 속도와 무관하게 고정 : open model )
+ * @param warmup   측정에서 제외하는 앞부분 시간
+ * @param duration 측정 시간
+ * @param timeout  요청 하나의 응답 대기 한도
+ * @param label    리포트 이름 ( 변경 전후 비교용 )
+ * @param reportDir 리포트를 남길 디렉터리
+ * @param baseline 비교할 이전 리포트 ( 없으면 비교하지 않는다 )
+ */
+public record LoadTestOptions(
+        URI target,
+        String method,
+        int rate,
+        Duration warmup,
+        Duration duration,
+        Duration timeout,
+        String label,
+        Path reportDir,
+        Optional<Path> baseline) {
+
+    public LoadTestOptions {
+        if (rate < 1) {
+            throw new IllegalArgumentException("rate 는 1 이상이어야 합니다.");
+        }
+        if (!method.equals("GET") && !method.equals("POST")) {
+            throw new IllegalArgumentException("method 는 GET 또는 POST 만 지원합니다.");
+        }
+    }
+
+    /** --key=value 형식의 인자를 읽는다. 지정하지 않은 값은 기본값을 쓴다. */
+    public static LoadTestOptions parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("--key=value 형식이어야 합니다: " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return new LoadTestOptions(
+                URI.create(values.getOrDefault("target", "http://localhost:18081/api")),
+                values.getOrDefault("method", "GET").toUpperCase(),
+                Integer.parseInt(values.getOrDefault("rate", "200")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "10"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "30"))),
+                Duration.ofMillis(Long.parseLong(values.getOrDefault("timeout", "5000"))),
+                values.getOrDefault("label", "latest"),
+                Path.of(values.getOrDefault("report-dir", "build/reports/loadtest")),
+                Optional.ofNullable(values.get("baseline")).filter(baseline -> !baseline.isBlank()).map(Path::of));
+    }
+}
@@ -0,0 +1,127 @@
+package app.loadtest;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadGeneratorTest {
+  private static final int RATE = 200;
+  private static final long TIMEOUT_MILLIS = 300;
+
+  @TempDir Path dir;
+
+  HttpServer server;
+  AtomicInteger received = new AtomicInteger();
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    server.createContext(
+        "/api",
+        exchange -> {
+          // 10 번째 요청마다 동시성 제한기처럼 503 으로 거절한다.
+          int status = received.incrementAndGet() % 10 == 0 ? 503 : 200;
+          exchange.sendResponseHeaders(status, -1);
+          exchange.close();
+        });
+    server.createContext(
+        "/overload",
+        exchange -> {
+          // 20 번째마다 타임아웃보다 오래 걸리고, 그 밖의 5 번째마다 429 로 거절한다.
+          int n = received.incrementAndGet();
+          if (n % 20 == 0) {
+            sleep(TIMEOUT_MILLIS * 3);
+          }
+          exchange.sendResponseHeaders(n % 20 != 0 && n % 5 == 0 ? 429 : 200, -1);
+          exchange.close();
+        });
+    server.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+  }
+
+  @Test
+  @DisplayName("워밍업을 뺀 측정 구간의 요청만 고정 도착률로 기록한다")
+  void fixedArrivalRate() {
+    LoadResult result = new LoadGenerator(options("run", "")).run();
+
+    assertEquals(RATE * 3, received.get(), "워밍업 1초 + 측정 2초 동안 초당 " + RATE + " 건을 보내야 합니다.");
+    assertEquals(RATE * 2, result.succeeded() + result.rejected());
+    assertEquals(RATE * 2 / 10, result.rejected(), 2);
+    assertEquals(0, result.failed());
+    assertEquals(RATE * 2, result.latency().getTotalCount());
+    assertEquals(RATE * 0.9, result.throughput(), RATE * 0.2);
+  }
+
+  @Test
+  @DisplayName("타임아웃은 실패 시점의 지연으로 전체 분포에 넣고, 429 는 거절로 세며 성공 분포와 나눈다")
+  void recordsTimeoutsAndSeparatesRejections() {
+    LoadResult result = new LoadGenerator(options("overload", "", "/overload")).run();
+
+    long total = RATE * 2;
+    assertEquals(total, result.latency().getTotalCount(), "타임아웃도 전체 분포에 기록해야 합니다.");
+    assertEquals(total / 20, result.failed(), 2);
+    assertEquals(total / 5 - total / 20, result.rejected(), 2);
+    assertEquals(result.succeeded(), result.successLatency().getTotalCount());
+    assertEquals(result.rejected(), result.rejectedLatency().getTotalCount());
+    assertTrue(result.latency().getValueAtPercentile(99) >= TIMEOUT_MILLIS * 1000, "타임아웃이 p99 에 보여야 합니다.");
+    assertTrue(result.successLatency().getMaxValue() < TIMEOUT_MILLIS * 1000, "성공 분포에는 타임아웃이 없어야 합니다.");
+  }
+
+  @Test
+  @DisplayName("리포트를 남기고 다음 실행에서 baseline 으로 비교한다")
+  void reportAndCompare() throws IOException {
+    LoadTestOptions before = options("before", "");
+    Path report = LoadReport.write(before, new LoadGenerator(before).run());
+
+    assertTrue(Files.exists(dir.resolve("before.hgrm")));
+    assertTrue(Files.exists(dir.resolve("before.success.hgrm")));
+    assertTrue(LoadReport.read(report).containsKey("latency.p99.ms"));
+
+    LoadTestOptions after = options("after", report.toString());
+    List<String> comparison = LoadReport.compare(after.baseline().orElseThrow(), new LoadGenerator(after).run());
+    assertTrue(comparison.stream().anyMatch(line -> line.startsWith("latency.p99.ms") && line.contains("%")));
+    assertTrue(comparison.stream().anyMatch(line -> line.startsWith("success.latency.p99.ms")));
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private LoadTestOptions options(String label, String baseline) {
+    return options(label, baseline, "/api");
+  }
+
+  private LoadTestOptions options(String label, String baseline, String path) {
+    return LoadTestOptions.parse(
+        "--target=http://localhost:" + server.getAddress().getPort() + path,
+        "--timeout=" + TIMEOUT_MILLIS,
+        "--rate=" + RATE,
+        "--warmup=1",
+        "--duration=2",
+        "--label=" + label,
+        "--report-dir=" + dir,
+        "--baseline=" + baseline);
+  }
+}
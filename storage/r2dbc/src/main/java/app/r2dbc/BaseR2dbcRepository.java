@@ -0,0 +1,36 @@
+package app.r2dbc;
+
+import app.base.Base;
+import app.base.ReactiveBaseRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.data.relational.core.query.Criteria.where;
+import static org.springframework.data.relational.core.query.Query.query;
+
+/**
+ * Base 의 R2DBC 구현체.
+ *
+ * <p>Base 는 JPA 의 {@code @Id} 만 가지고 있어 Spring Data 의 신규/기존 판별을 쓸 수 없으므로,
+ * JPA 의 merge 와 같이 존재하면 그대로 반환하고 없으면 저장한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BaseR2dbcRepository implements ReactiveBaseRepository {
+    private final R2dbcEntityTemplate template;
+
+    @Override
+    public Mono<Base> findById(Long id) {
+        return template.selectOne(query(where("id").is(id)), Base.class);
+    }
+
+    @Override
+    public Mono<Base> save(Base base) {
+        return findById(base.getId())
+                .switchIfEmpty(Mono.defer(() -> template.insert(base)))
+                .onErrorResume(DuplicateKeyException.class, e -> Mono.just(base));
+    }
+}
@@ -0,0 +1,5 @@
+-- R2DBC 는 ddl-auto 를 지원하지 않으므로 스키마를 직접 생성한다.
+CREATE TABLE IF NOT EXISTS base
+(
+    id BIGINT NOT NULL PRIMARY KEY
+);
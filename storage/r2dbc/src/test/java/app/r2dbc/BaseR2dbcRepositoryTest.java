@@ -0,0 +1,46 @@
+package app.r2dbc;
+
+import app.base.BaseFixture;
+import app.base.ReactiveBaseRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+@SpringBootTest
+@ActiveProfiles("r2dbc")
+class BaseR2dbcRepositoryTest {
+
+  @Autowired ReactiveBaseRepository reactiveBaseRepository;
+
+  @Test
+  @DisplayName("저장한 Base를 id로 다시 조회할 수 있다")
+  void saveAndFindById() {
+    StepVerifier.create(
+            reactiveBaseRepository
+                .save(BaseFixture.of(10L))
+                .then(reactiveBaseRepository.findById(10L)))
+        .expectNextMatches(base -> base.getId() == 10L)
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("없는 id를 조회하면 빈 결과를 반환한다")
+  void findByIdEmpty() {
+    StepVerifier.create(reactiveBaseRepository.findById(-1L)).verifyComplete();
+  }
+
+  @Test
+  @DisplayName("같은 id를 동시에 저장해도 실패하지 않는다")
+  void concurrentSaveIsIdempotent() {
+    StepVerifier.create(
+            Flux.range(0, 32)
+                .flatMap(i -> reactiveBaseRepository.save(BaseFixture.of(20L)))
+                .count())
+        .expectNext(32L)
+        .verifyComplete();
+  }
+}
@@ -0,0 +1,7 @@
+package app.r2dbc;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class R2dbcTestApplication {
+}
@@ -0,0 +1,10 @@
+package app.jpa;
+
+import app.base.Base;
+
+import java.util.List;
+
+/** BaseJpaRepository 에 붙는 배치 insert 프래그먼트 */
+public interface BaseBulkRepository {
+    List<Base> insertAll(List<Base> bases);
+}
@@ -0,0 +1,36 @@
+package app.jpa;
+
+import app.base.Base;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * persist 만 사용해 merge 의 선행 SELECT 없이 insert 한다.
+ * JDBC 배치 크기마다 flush/clear 해서 영속성 컨텍스트가 커지지 않게 한다.
+ */
+public class BaseBulkRepositoryImpl implements BaseBulkRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Override
+    @Transactional
+    public List<Base> insertAll(List<Base> bases) {
+        for (int i = 0; i < bases.size(); i++) {
+            entityManager.persist(bases.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return bases;
+    }
+}
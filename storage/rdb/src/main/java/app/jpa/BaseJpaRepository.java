@@ -2,9 +2,37 @@ package app.jpa;
 
 import app.base.Base;
 import app.base.BaseRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface BaseJpaRepository extends BaseRepository, JpaRepository<Base, Long> {
+public interface BaseJpaRepository extends BaseRepository, BaseBulkRepository, BaseScrollRepository,
+        JpaRepository<Base, Long> {
+
+    /** 다건 조회 결과를 쿼리 캐시에 저장한다. */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Base> findAllByIdIn(Collection<Long> ids);
+
+    /** id 키셋 페이지 ( 샤드 순회, 리샤딩용 ). 대량 순회가 2차 캐시를 밀어내지 않도록 캐시에 넣지 않는다. */
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS"))
+    List<Base> findFirst500ByIdGreaterThanOrderByIdAsc(Long id);
+
+    /** 이 DB 에 있는 id 만 골라낸다. ( 리샤딩 존재 확인용 ) 쿼리 캐시는 샤드를 구분하지 않으므로 캐시하지 않는다. */
+    @Query("select b.id from Base b where b.id in :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Override
+    @Query("select max(b.id) from Base b")
+    Optional<Long> findMaxId();
 }
@@ -0,0 +1,10 @@
+package app.jpa;
+
+import app.base.Base;
+
+import java.util.stream.Stream;
+
+/** BaseJpaRepository 에 붙는 커서 스크롤 프래그먼트 */
+public interface BaseScrollRepository {
+    Stream<Base> streamAfter(Long watermark);
+}
@@ -0,0 +1,46 @@
+package app.jpa;
+
+import app.base.Base;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.stream.Stream;
+
+/**
+ * JDBC fetch size 단위로 커서를 읽고, 읽은 행은 바로 준영속으로 만들어 전체 행 수와 무관하게 힙 사용량을 일정하게 유지한다.
+ * ( HINT_READ_ONLY 는 스냅샷만 생략할 뿐 엔티티는 영속성 컨텍스트에 남는다 )
+ * 대량 조회가 2차 캐시를 밀어내지 않도록 캐시는 우회한다.
+ * ( MySQL 은 useCursorFetch=true 가 있어야 fetch size 가 커서로 동작한다 )
+ *
+ * <p>스트림은 메서드가 반환된 뒤 소비되므로 트랜잭션을 여기서 열 수 없다. 호출 측이 읽기 전용 트랜잭션
+ * ( 예: @Transactional(readOnly = true) )을 열어야 하며, 그렇지 않으면 InvalidDataAccessApiUsageException 을 던진다.
+ * 읽은 행만 detach 하므로 같은 영속성 컨텍스트의 다른 엔티티는 건드리지 않는다.
+ */
+public class BaseScrollRepositoryImpl implements BaseScrollRepository {
+    private static final int FETCH_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<Base> streamAfter(Long watermark) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            throw new InvalidDataAccessApiUsageException("streamAfter 는 읽기 전용 트랜잭션 안에서 소비해야 합니다.");
+        }
+        return entityManager.createQuery("select b from Base b where b.id > :watermark order by b.id", Base.class)
+                .setParameter("watermark", watermark)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS)
+                .setHint(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS)
+                .getResultStream()
+                .peek(entityManager::detach);
+    }
+}
@@ -0,0 +1,55 @@
+package app.jpa.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hibernate 2차 캐시 리전별 통계 조회.
+ *
+ * <p>통계는 storage.jpa.statistics=true 일 때만 쌓인다. 켜져 있으면 Spring Boot 가 같은 통계를 hibernate-micrometer 로
+ * /actuator/metrics 의 hibernate.second.level.cache.requests, hibernate.second.level.cache.puts 등으로도 발행한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheStatistics {
+    private final EntityManagerFactory entityManagerFactory;
+
+    public boolean isEnabled() {
+        return statistics().isStatisticsEnabled();
+    }
+
+    /** 등록된 모든 2차 캐시 리전의 통계. 통계가 꺼져 있으면 0 으로 채우지 않고 빈 목록을 돌려준다. */
+    public List<RegionStats> regions() {
+        Statistics statistics = statistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return List.of();
+        }
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .map(region -> RegionStats.of(region, statistics.getCacheRegionStatistics(region)))
+                .toList();
+    }
+
+    /** 세션 팩토리 전체 통계 ( 실행된 SQL 수 등 ) */
+    public Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /** JCache는 리전의 적재 건수를 제공하지 않으므로 적중/실패/저장 횟수만 노출한다. */
+    public record RegionStats(String region, long hitCount, long missCount, long putCount) {
+
+        static RegionStats of(String region, CacheRegionStatistics statistics) {
+            return new RegionStats(
+                    region,
+                    statistics.getHitCount(),
+                    statistics.getMissCount(),
+                    statistics.getPutCount());
+        }
+    }
+}
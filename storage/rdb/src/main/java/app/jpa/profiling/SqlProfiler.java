@@ -0,0 +1,222 @@
+package app.jpa.profiling;
+
+import app.sql.SqlDiagnostics;
+import app.sql.SqlReport;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * datasource-proxy 리스너로 SQL 별 실행 횟수/지연/배치 크기를 집계한다.
+ * 실행마다 하는 일은 카운터 갱신뿐이고, SQL 로그는 logSampleRate 비율로만 남긴다.
+ */
+@Slf4j
+public class SqlProfiler implements SqlDiagnostics, QueryExecutionListener {
+    static final String START_NANOS = SqlProfiler.class.getName() + ".start";
+    private static final int MAX_TRACKED_STATEMENTS = 1000;
+    private static final int N_PLUS_ONE_BUFFER_SIZE = 100;
+
+    private final SqlProfilingProperties properties;
+    private final long slowThresholdNanos;
+    private final Map<String, Stats> statements = new ConcurrentHashMap<>();
+    private final SlowestBuffer slowStatements;
+    private final BoundedBuffer<SqlReport.NPlusOne> nPlusOnes = new BoundedBuffer<>(N_PLUS_ONE_BUFFER_SIZE);
+    private final ThreadLocal<RequestScope> currentScope = new ThreadLocal<>();
+
+    public SqlProfiler(SqlProfilingProperties properties) {
+        this.properties = properties;
+        this.slowThresholdNanos = properties.slowThreshold().toNanos();
+        this.slowStatements = new SlowestBuffer(properties.slowBufferSize());
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedNanos = System.nanoTime() - execInfo.getCustomValue(START_NANOS, Long.class);
+        int batchSize = execInfo.isBatch() && queryInfoList.size() == 1 ? execInfo.getBatchSize() : 1;
+        RequestScope scope = currentScope.get();
+
+        for (QueryInfo queryInfo : queryInfoList) {
+            String sql = queryInfo.getQuery();
+            record(sql, elapsedNanos, batchSize);
+
+            if (elapsedNanos >= slowThresholdNanos) {
+                slowStatements.add(new SqlReport.SlowStatement(
+                        sql, toMillis(elapsedNanos), batchSize, scope == null ? null : scope.name, Instant.now()));
+            }
+            if (scope != null && !execInfo.isBatch() && isSelect(sql)) {
+                scope.countSelect(sql);
+            }
+            if (properties.logSampleRate() > 0 && ThreadLocalRandom.current().nextDouble() < properties.logSampleRate()) {
+                log.info("[{} ms, batch {}] {}", toMillis(elapsedNanos), batchSize, sql);
+            }
+        }
+    }
+
+    @Override
+    public Scope openScope(String name) {
+        if (currentScope.get() != null) {
+            return () -> {
+            };
+        }
+        RequestScope scope = new RequestScope(name);
+        currentScope.set(scope);
+        return currentScope::remove;
+    }
+
+    @Override
+    public SqlReport report() {
+        List<SqlReport.StatementStats> stats = statements.entrySet().stream()
+                .map(entry -> entry.getValue().toStatementStats(entry.getKey()))
+                .sorted(Comparator.comparingDouble(SqlReport.StatementStats::totalMs).reversed())
+                .toList();
+        return new SqlReport(stats, slowStatements.snapshot(), nPlusOnes.snapshot().reversed());
+    }
+
+    @Override
+    public void reset() {
+        statements.clear();
+        slowStatements.clear();
+        nPlusOnes.clear();
+    }
+
+    private void record(String sql, long elapsedNanos, int batchSize) {
+        Stats stats = statements.get(sql);
+        if (stats == null) {
+            if (statements.size() >= MAX_TRACKED_STATEMENTS) {
+                return;
+            }
+            stats = statements.computeIfAbsent(sql, key -> new Stats());
+        }
+        stats.add(elapsedNanos, batchSize);
+    }
+
+    private static boolean isSelect(String sql) {
+        return sql.stripLeading().regionMatches(true, 0, "select", 0, 6);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /** 한 요청 안에서 실행된 SELECT 횟수 ( 요청 스레드 전용 ) */
+    private class RequestScope {
+        private final String name;
+        private final Map<String, Integer> selects = new HashMap<>();
+
+        RequestScope(String name) {
+            this.name = name;
+        }
+
+        void countSelect(String sql) {
+            int count = selects.merge(sql, 1, Integer::sum);
+            if (count == properties.nPlusOneThreshold()) {
+                log.warn("N+1 의심: {} 에서 같은 SELECT 가 {} 회 이상 실행됨: {}", name, count, sql);
+                nPlusOnes.add(new SqlReport.NPlusOne(name, sql, count, Instant.now()));
+            }
+        }
+    }
+
+    private static class Stats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder batchedRows = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void add(long elapsedNanos, int batchSize) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            batchedRows.add(batchSize);
+            maxNanos.accumulate(elapsedNanos);
+        }
+
+        SqlReport.StatementStats toStatementStats(String sql) {
+            long executions = Math.max(count.sum(), 1);
+            return new SqlReport.StatementStats(
+                    sql,
+                    count.sum(),
+                    toMillis(totalNanos.sum()),
+                    toMillis(totalNanos.sum() / executions),
+                    toMillis(maxNanos.get()),
+                    (double) batchedRows.sum() / executions);
+        }
+    }
+
+    /**
+     * 지금까지 가장 느렸던 SQL capacity 개 ( 소요 시간 기준 최소 힙 )
+     * 가득 차면 힙의 최솟값보다 느린 SQL 만 들어오고, 최솟값을 밀어낸다.
+     */
+    private static class SlowestBuffer {
+        private static final Comparator<SqlReport.SlowStatement> BY_ELAPSED =
+                Comparator.comparingDouble(SqlReport.SlowStatement::elapsedMs);
+
+        private final int capacity;
+        private final PriorityQueue<SqlReport.SlowStatement> heap;
+
+        SlowestBuffer(int capacity) {
+            this.capacity = capacity;
+            this.heap = new PriorityQueue<>(capacity, BY_ELAPSED);
+        }
+
+        synchronized void add(SqlReport.SlowStatement statement) {
+            if (heap.size() < capacity) {
+                heap.add(statement);
+            } else if (capacity > 0 && BY_ELAPSED.compare(statement, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(statement);
+            }
+        }
+
+        /** 느린 순 */
+        synchronized List<SqlReport.SlowStatement> snapshot() {
+            return heap.stream().sorted(BY_ELAPSED.reversed()).toList();
+        }
+
+        synchronized void clear() {
+            heap.clear();
+        }
+    }
+
+    /** 크기가 정해진 링 버퍼 ( 가득 차면 가장 오래된 항목을 버린다 ) */
+    private static class BoundedBuffer<T> {
+        private final int capacity;
+        private final ArrayDeque<T> items;
+
+        BoundedBuffer(int capacity) {
+            this.capacity = capacity;
+            this.items = new ArrayDeque<>(capacity);
+        }
+
+        synchronized void add(T item) {
+            if (items.size() == capacity) {
+                items.pollFirst();
+            }
+            items.addLast(item);
+        }
+
+        synchronized List<T> snapshot() {
+            return List.copyOf(items);
+        }
+
+        synchronized void clear() {
+            items.clear();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package app.jpa.profiling;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSource 를 datasource-proxy 로 감싸 모든 SQL 실행을 SqlProfiler 에 전달한다.
+ *
+ * <p>storage.sql-profiling.enabled 는 @ConditionalOnProperty 대신 실행 시점에 확인한다.
+ * AOT( fast-startup ) 빌드는 조건을 빌드 시점에 고정하므로, 그래야 실행 인자로 끌 수 있다.
+ */
+@Configuration
+@EnableConfigurationProperties(SqlProfilingProperties.class)
+public class SqlProfilingConfig {
+    private static final String ENABLED = "storage.sql-profiling.enabled";
+
+    @Bean
+    public SqlProfiler sqlProfiler(SqlProfilingProperties properties) {
+        return new SqlProfiler(properties);
+    }
+
+    @Bean
+    public static BeanPostProcessor sqlProfilingDataSourcePostProcessor(ObjectProvider<SqlProfiler> sqlProfiler,
+                                                                        Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource
+                        && !(bean instanceof ProxyDataSource)
+                        && environment.getProperty(ENABLED, Boolean.class, true)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(sqlProfiler.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package app.jpa.profiling;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled            false 면 DataSource 를 프록시로 감싸지 않는다. ( /actuator/sql 은 빈 리포트 )
+ * @param slowThreshold      이 시간 이상 걸린 SQL 을 느린 SQL 버퍼에 남긴다.
+ * @param slowBufferSize     느린 SQL 버퍼 크기 ( 가장 느린 순으로 이 개수만 남긴다 )
+ * @param nPlusOneThreshold  한 요청에서 같은 SELECT 가 이 횟수 이상 실행되면 N+1 로 본다.
+ * @param logSampleRate      SQL 을 로그로 남길 비율 ( 0.0 ~ 1.0, show-sql 대체 )
+ */
+@ConfigurationProperties("storage.sql-profiling")
+public record SqlProfilingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100ms") Duration slowThreshold,
+        @DefaultValue("100") int slowBufferSize,
+        @DefaultValue("10") int nPlusOneThreshold,
+        @DefaultValue("0.0") double logSampleRate) {
+}
@@ -0,0 +1,96 @@
+package app.jpa.shard;
+
+import app.base.Base;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 샤드 수를 바꾸고, 새 배치에서 다른 샤드로 가야 하는 행을 백그라운드로 옮긴다.
+ *
+ * <p>옮기는 동안 쓰기는 새 샤드로 가고, 읽기는 새 샤드에 없으면 이전 샤드를 조회한다.
+ * 행은 새 샤드에 먼저 쓰고 나서 이전 샤드에서 지우므로 어느 시점에도 조회되지 않는 행은 없다.
+ *
+ * <p>이동이 실패하면 라우터는 리샤딩 상태( 이전 샤드 조회 )로 남는다. 이미 옮긴 행은 건너뛰므로 {@link #resume()} 으로
+ * 처음부터 다시 실행해 마무리한다.
+ */
+@Slf4j
+public class Resharder {
+    private final ShardRouter router;
+    private final ShardedBaseRepository repository;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public Resharder(ShardRouter router, ShardedBaseRepository repository) {
+        this.router = router;
+        this.repository = repository;
+    }
+
+    /** @return 옮긴 행 수로 완료되는 future */
+    public CompletableFuture<Long> reshard(int newShardCount) {
+        if (running.get()) {
+            throw new IllegalStateException("이미 리샤딩 중입니다.");
+        }
+        router.beginResharding(newShardCount);
+        log.info("리샤딩 시작 : {} -> {} 샤드", router.previousShardCount(), newShardCount);
+        return migrateAsync();
+    }
+
+    /** 실패한 리샤딩을 다시 실행한다. @return 이번 실행에서 옮긴 행 수로 완료되는 future */
+    public CompletableFuture<Long> resume() {
+        if (!router.isResharding()) {
+            throw new IllegalStateException("재개할 리샤딩이 없습니다.");
+        }
+        log.info("리샤딩 재개 : {} -> {} 샤드", router.previousShardCount(), router.shardCount());
+        return migrateAsync();
+    }
+
+    private CompletableFuture<Long> migrateAsync() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("리샤딩 이동이 이미 실행 중입니다.");
+        }
+        int previousShardCount = router.previousShardCount();
+        return CompletableFuture.supplyAsync(
+                        () -> migrate(previousShardCount),
+                        runnable -> Thread.ofVirtual().name("resharder").start(runnable))
+                .whenComplete((moved, error) -> {
+                    if (error == null) {
+                        router.finishResharding();
+                        log.info("리샤딩 완료 : {} 행 이동", moved);
+                    } else {
+                        log.error("리샤딩 실패 : 이전 샤드 조회를 유지합니다. resume() 으로 다시 실행하세요.", error);
+                    }
+                    running.set(false);
+                });
+    }
+
+    private long migrate(int previousShardCount) {
+        long moved = 0;
+        for (int source = 0; source < previousShardCount; source++) {
+            long afterId = Long.MIN_VALUE;
+            List<Base> page;
+            while (!(page = repository.page(source, afterId)).isEmpty()) {
+                afterId = page.getLast().getId();
+                moved += move(source, page);
+            }
+        }
+        return moved;
+    }
+
+    private long move(int source, List<Base> page) {
+        long moved = 0;
+        for (int target = 0; target < router.shardCount(); target++) {
+            int shard = target;
+            List<Base> leaving = page.stream()
+                    .filter(base -> shard != source && router.shardFor(base.getId()) == shard)
+                    .toList();
+            if (!leaving.isEmpty()) {
+                repository.insertMissing(shard, leaving);
+                repository.deleteAll(source, leaving.stream().map(Base::getId).toList());
+                moved += leaving.size();
+            }
+        }
+        return moved;
+    }
+}
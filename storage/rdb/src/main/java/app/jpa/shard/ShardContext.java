@@ -0,0 +1,31 @@
+package app.jpa.shard;
+
+import java.util.function.Supplier;
+
+/** 현재 스레드가 사용할 샤드 번호 ( ShardRoutingDataSource 가 커넥션을 얻을 때 참조 ) */
+public final class ShardContext {
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static <T> T on(int shard, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /** 지정되지 않았으면 0 번 샤드 ( 스키마 생성 등 부트스트랩용 ) */
+    static int current() {
+        Integer shard = CURRENT.get();
+        return shard == null ? 0 : shard;
+    }
+}
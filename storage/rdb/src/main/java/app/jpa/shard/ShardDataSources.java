@@ -0,0 +1,43 @@
+package app.jpa.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * 샤드별 커넥션 풀. 풀은 빈이 아니고 AbstractRoutingDataSource 도 대상을 닫지 않으므로, 이 홀더를 빈으로 두고 종료 시 닫는다.
+ * 생성 시 schema-shard.sql 로 샤드마다 스키마를 만든다. ( ddl-auto 는 기본 샤드에만 적용된다. )
+ */
+public class ShardDataSources implements AutoCloseable {
+    private final List<HikariDataSource> pools;
+
+    public ShardDataSources(ShardingProperties properties) {
+        if (properties.shards().isEmpty()) {
+            throw new IllegalStateException("storage.sharding.shards 가 비어 있습니다.");
+        }
+        ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new ClassPathResource("schema-shard.sql"));
+        this.pools = properties.shards().stream()
+                .map(shard -> DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
+                        .url(shard.url())
+                        .username(shard.username())
+                        .password(shard.password())
+                        .build())
+                .peek(pool -> DatabasePopulatorUtils.execute(schema, pool))
+                .toList();
+    }
+
+    public List<DataSource> all() {
+        return List.copyOf(pools);
+    }
+
+    @Override
+    public void close() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,92 @@
+package app.jpa.shard;
+
+import java.util.OptionalInt;
+
+/**
+ * id 해시로 샤드를 정한다. 리샤딩 중에는 이전 샤드 수도 기억해, 아직 옮겨지지 않은 행을 찾을 수 있게 한다.
+ */
+public class ShardRouter {
+    private final int totalShards;
+    private volatile int shardCount;
+    private volatile int previousShardCount; // 0 이면 리샤딩 중이 아니다.
+
+    public ShardRouter(int shardCount, int totalShards) {
+        if (shardCount < 1 || shardCount > totalShards) {
+            throw new IllegalArgumentException("샤드 수는 1 ~ " + totalShards + " 사이여야 합니다.");
+        }
+        this.shardCount = shardCount;
+        this.totalShards = totalShards;
+    }
+
+    public int shardFor(long id) {
+        return shardFor(id, shardCount);
+    }
+
+    /** 리샤딩 중이고 이전 배치에서 샤드가 달랐다면 이전 샤드 */
+    public OptionalInt previousShardFor(long id) {
+        int previous = previousShardCount;
+        if (previous == 0) {
+            return OptionalInt.empty();
+        }
+        int shard = shardFor(id, previous);
+        return shard == shardFor(id) ? OptionalInt.empty() : OptionalInt.of(shard);
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int totalShards() {
+        return totalShards;
+    }
+
+    /** 리샤딩 중이면 이전 샤드 수, 아니면 0 */
+    public int previousShardCount() {
+        return previousShardCount;
+    }
+
+    public boolean isResharding() {
+        return previousShardCount != 0;
+    }
+
+    /**
+     * Jump Consistent Hash ( Lamping & Veach ). 샤드를 n -> n+1 로 늘리면 약 1/(n+1) 의 행만, 그것도 새 샤드로만 옮겨진다.
+     */
+    static int shardFor(long id, int shardCount) {
+        long key = mix(id);
+        long bucket = -1;
+        long next = 0;
+        while (next < shardCount) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+
+    synchronized void beginResharding(int newShardCount) {
+        if (isResharding()) {
+            throw new IllegalStateException("이미 리샤딩 중입니다.");
+        }
+        if (newShardCount < 1 || newShardCount > totalShards) {
+            throw new IllegalArgumentException("샤드 수는 1 ~ " + totalShards + " 사이여야 합니다.");
+        }
+        previousShardCount = shardCount;
+        shardCount = newShardCount;
+    }
+
+    synchronized void finishResharding() {
+        previousShardCount = 0;
+    }
+
+    /** 연속된 id 가 한 샤드에 몰리지 않도록 비트를 섞는다. ( MurmurHash3 fmix64 ) */
+    private static long mix(long id) {
+        long h = id;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
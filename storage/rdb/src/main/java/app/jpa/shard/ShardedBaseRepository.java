@@ -0,0 +1,235 @@
+package app.jpa.shard;
+
+import app.base.Base;
+import app.base.BaseRepository;
+import app.jpa.BaseJpaRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * id 해시로 샤드를 골라 BaseJpaRepository 를 호출한다.
+ *
+ * <p>샤드마다 새 트랜잭션( REQUIRES_NEW )을 열어, 바깥 트랜잭션이 이미 다른 샤드 커넥션을 잡고 있어도 올바른 샤드로 간다.
+ * 여러 샤드에 걸친 쓰기는 원자적이지 않다.
+ */
+public class ShardedBaseRepository implements BaseRepository, AutoCloseable {
+    private final BaseRepository jpa;
+    private final BaseJpaRepository pages;
+    private final ShardRouter router;
+    private final TransactionTemplate requiresNew;
+    private final Cache cache;
+    private final ExecutorService scatter = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ShardedBaseRepository(BaseJpaRepository jpa,
+                                 ShardRouter router,
+                                 PlatformTransactionManager transactionManager,
+                                 EntityManagerFactory entityManagerFactory) {
+        this.jpa = jpa;
+        this.pages = jpa;
+        this.router = router;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.cache = entityManagerFactory.getCache();
+    }
+
+    @Override
+    public Optional<Base> findById(Long id) {
+        Optional<Base> found = onShard(router.shardFor(id), () -> jpa.findById(id));
+        if (found.isPresent()) {
+            return found;
+        }
+        OptionalInt previous = router.previousShardFor(id);
+        return previous.isPresent() ? onShard(previous.getAsInt(), () -> jpa.findById(id)) : found;
+    }
+
+    @Override
+    public Base save(Base base) {
+        return onShard(router.shardFor(base.getId()), () -> jpa.save(base));
+    }
+
+    /** 샤드별로 나누어 동시에 조회한 뒤 합친다. ( scatter-gather ) */
+    @Override
+    public List<Base> findAllByIdIn(Collection<Long> ids) {
+        Map<Integer, List<Long>> idsByShard = ids.stream().distinct().collect(Collectors.groupingBy(router::shardFor));
+        List<Base> found = gather(idsByShard.entrySet().stream()
+                .map(entry -> (Supplier<List<Base>>) () -> onShard(entry.getKey(), () -> jpa.findAllByIdIn(entry.getValue())))
+                .toList());
+
+        if (router.isResharding() && found.size() < idsByShard.values().stream().mapToInt(List::size).sum()) {
+            Set<Long> foundIds = found.stream().map(Base::getId).collect(Collectors.toSet());
+            List<Base> all = new ArrayList<>(found);
+            ids.stream().distinct()
+                    .filter(id -> !foundIds.contains(id))
+                    .map(this::findById)
+                    .flatMap(Optional::stream)
+                    .forEach(all::add);
+            return all;
+        }
+        return found;
+    }
+
+    @Override
+    public List<Base> insertAll(List<Base> bases) {
+        Map<Integer, List<Base>> basesByShard = bases.stream()
+                .collect(Collectors.groupingBy(base -> router.shardFor(base.getId())));
+        gather(basesByShard.entrySet().stream()
+                .map(entry -> (Supplier<List<Base>>) () -> onShard(entry.getKey(), () -> jpa.insertAll(entry.getValue())))
+                .toList());
+        return bases;
+    }
+
+    @Override
+    public Optional<Long> findMaxId() {
+        return allShards().mapToObj(shard -> onShard(shard, jpa::findMaxId))
+                .flatMap(Optional::stream)
+                .max(Long::compare);
+    }
+
+    /**
+     * 모든 샤드를 키셋 페이지로 읽으며 id 순으로 병합한다. 페이지 단위로 짧은 트랜잭션을 쓰므로 호출 측 트랜잭션이 필요 없다.
+     * 리샤딩 중 두 샤드에 잠시 함께 있는 행은 한 번만 내보낸다.
+     */
+    @Override
+    public Stream<Base> streamAfter(Long watermark) {
+        List<ShardCursor> cursors = allShards().mapToObj(shard -> new ShardCursor(shard, watermark)).toList();
+        Iterator<Base> merged = new MergingIterator(cursors);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /** 리샤딩에서 사용 : 샤드 하나의 id 키셋 페이지 */
+    List<Base> page(int shard, long afterId) {
+        return onShard(shard, () -> pages.findFirst500ByIdGreaterThanOrderByIdAsc(afterId));
+    }
+
+    /** 리샤딩에서 사용 : 샤드 하나에서 행 삭제 */
+    void deleteAll(int shard, List<Long> ids) {
+        onShard(shard, () -> {
+            pages.deleteAllByIdInBatch(ids);
+            return null;
+        });
+    }
+
+    /**
+     * 리샤딩에서 사용 : 샤드 하나에 insert. 이미 옮겨진 행은 건너뛴다.
+     * 존재 확인은 캐시를 거치지 않는다. 쿼리 캐시는 샤드를 구분하지 않아, 이전 샤드에서 캐시된 결과로 복사를 건너뛰면
+     * 이어지는 deleteAll 에서 행이 사라진다.
+     * 할당 id 엔티티가 2차 캐시에 있으면 persist 가 준영속으로 판단하므로 먼저 캐시에서 내린다.
+     */
+    void insertMissing(int shard, List<Base> bases) {
+        onShard(shard, () -> {
+            Set<Long> existing = Set.copyOf(pages.findIdsByIdIn(bases.stream().map(Base::getId).toList()));
+            List<Base> missing = bases.stream().filter(base -> !existing.contains(base.getId())).toList();
+            missing.forEach(base -> cache.evict(Base.class, base.getId()));
+            return jpa.insertAll(missing);
+        });
+    }
+
+    /** scatter-gather 용 가상 스레드 실행기를 닫는다. ( 진행 중인 조회는 끝날 때까지 기다린다 ) */
+    @Override
+    public void close() {
+        scatter.close();
+    }
+
+    private IntStream allShards() {
+        return IntStream.range(0, router.totalShards());
+    }
+
+    private <T> T onShard(int shard, Supplier<T> action) {
+        return ShardContext.on(shard, () -> requiresNew.execute(status -> action.get()));
+    }
+
+    private <T> List<T> gather(List<Supplier<List<T>>> tasks) {
+        List<CompletableFuture<List<T>>> futures = tasks.stream()
+                .map(task -> CompletableFuture.supplyAsync(task, scatter))
+                .toList();
+        return futures.stream().map(CompletableFuture::join).flatMap(List::stream).toList();
+    }
+
+    /** 샤드 하나를 페이지 단위로 읽는 커서 */
+    private class ShardCursor {
+        private final int shard;
+        private long lastId;
+        private Iterator<Base> page = List.<Base>of().iterator();
+        private boolean exhausted;
+
+        ShardCursor(int shard, long afterId) {
+            this.shard = shard;
+            this.lastId = afterId;
+        }
+
+        Optional<Base> next() {
+            if (!page.hasNext() && !exhausted) {
+                List<Base> fetched = page(shard, lastId);
+                exhausted = fetched.isEmpty();
+                page = fetched.iterator();
+            }
+            if (!page.hasNext()) {
+                return Optional.empty();
+            }
+            Base base = page.next();
+            lastId = base.getId();
+            return Optional.of(base);
+        }
+    }
+
+    /** 샤드 커서들을 id 순으로 k-way 병합 */
+    private static class MergingIterator implements Iterator<Base> {
+        private final PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparing(head -> head.base.getId()));
+        private Long lastEmitted;
+
+        MergingIterator(List<ShardCursor> cursors) {
+            cursors.forEach(this::advance);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!heads.isEmpty() && heads.peek().base.getId().equals(lastEmitted)) {
+                advance(heads.poll().cursor);
+            }
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public Base next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Head head = heads.poll();
+            advance(head.cursor);
+            lastEmitted = head.base.getId();
+            return head.base;
+        }
+
+        private void advance(ShardCursor cursor) {
+            cursor.next().ifPresent(base -> heads.add(new Head(base, cursor)));
+        }
+
+        private record Head(Base base, ShardCursor cursor) {
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package app.jpa.shard;
+
+import app.jpa.BaseJpaRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+/**
+ * storage.sharding.enabled 일 때 샤드별 DataSource 와 라우팅 DataSource, 샤딩된 BaseRepository 를 등록한다.
+ *
+ * <p>@Primary DataSource 를 바꾸므로 실행 시점에 켜고 끌 수 없다. Spring AOT( fast-startup ) jar 에서는 이 조건이
+ * processAot 시점의 값으로 고정되므로, 샤딩을 쓰려면 processAot 에도 storage.sharding.enabled=true 를 넘겨 빌드해야 한다.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(prefix = "storage.sharding", name = "enabled")
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ShardDataSources shardDataSources(ShardingProperties properties) {
+        return new ShardDataSources(properties);
+    }
+
+    @Bean
+    @Primary
+    public DataSource shardRoutingDataSource(ShardDataSources shardDataSources) {
+        return new ShardRoutingDataSource(shardDataSources.all());
+    }
+
+    @Bean
+    public ShardRouter shardRouter(ShardingProperties properties) {
+        return new ShardRouter(properties.initialShardCount(), properties.shards().size());
+    }
+
+    @Bean(destroyMethod = "close")
+    @Primary
+    public ShardedBaseRepository shardedBaseRepository(BaseJpaRepository baseJpaRepository,
+                                                       ShardRouter shardRouter,
+                                                       PlatformTransactionManager transactionManager,
+                                                       EntityManagerFactory entityManagerFactory) {
+        return new ShardedBaseRepository(baseJpaRepository, shardRouter, transactionManager, entityManagerFactory);
+    }
+
+    @Bean
+    public Resharder resharder(ShardRouter shardRouter, ShardedBaseRepository shardedBaseRepository) {
+        return new Resharder(shardRouter, shardedBaseRepository);
+    }
+}
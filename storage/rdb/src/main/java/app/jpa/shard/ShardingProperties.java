@@ -0,0 +1,26 @@
+package app.jpa.shard;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * @param enabled      true 면 Base 를 id 해시로 여러 DB 에 나누어 저장한다.
+ * @param activeShards 라우팅에 사용하는 샤드 수 ( 앞에서부터 ). 나머지 샤드는 리샤딩 대상으로만 쓰인다.
+ * @param shards       샤드 접속 정보
+ */
+@ConfigurationProperties("storage.sharding")
+public record ShardingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("0") int activeShards,
+        @DefaultValue List<Shard> shards) {
+
+    public record Shard(String url, String username, String password) {
+    }
+
+    /** activeShards 를 지정하지 않으면 모든 샤드를 사용한다. */
+    public int initialShardCount() {
+        return activeShards > 0 ? activeShards : shards.size();
+    }
+}
@@ -0,0 +1,5 @@
+-- 샤드마다 스키마를 직접 생성한다. ( ddl-auto 는 기본 샤드에만 적용된다. )
+CREATE TABLE IF NOT EXISTS base
+(
+    id BIGINT NOT NULL PRIMARY KEY
+);
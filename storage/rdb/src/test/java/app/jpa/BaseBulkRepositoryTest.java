@@ -0,0 +1,56 @@
+package app.jpa;
+
+import app.base.Base;
+import app.base.BaseFixture;
+import app.base.BaseRepository;
+import app.jpa.cache.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "storage.jpa.statistics=true") // 실행된 SQL 수를 Hibernate 통계로 검증한다.
+@ActiveProfiles("rdb")
+class BaseBulkRepositoryTest {
+
+  @Autowired BaseRepository baseRepository;
+  @Autowired BaseJpaRepository baseJpaRepository;
+  @Autowired SecondLevelCacheStatistics cacheStatistics;
+
+  @BeforeEach
+  void setUp() {
+    baseJpaRepository.deleteAllInBatch();
+    cacheStatistics.statistics().clear();
+  }
+
+  @Test
+  @DisplayName("insertAll은 선행 SELECT 없이 JDBC 배치로 저장한다")
+  void insertAllUsesJdbcBatch() {
+    List<Base> bases = LongStream.rangeClosed(1, 120).mapToObj(BaseFixture::of).toList();
+
+    baseRepository.insertAll(bases);
+
+    Statistics statistics = cacheStatistics.statistics();
+    assertEquals(120, statistics.getEntityInsertCount());
+    assertEquals(3, statistics.getPrepareStatementCount()); // batch_size 50 : 50 + 50 + 20
+    assertEquals(120, baseJpaRepository.count());
+  }
+
+  @Test
+  @DisplayName("가장 큰 id를 조회할 수 있다")
+  void findMaxId() {
+    assertTrue(baseRepository.findMaxId().isEmpty());
+
+    baseRepository.insertAll(List.of(BaseFixture.of(3L), BaseFixture.of(7L)));
+
+    assertEquals(7L, baseRepository.findMaxId().orElseThrow());
+  }
+}
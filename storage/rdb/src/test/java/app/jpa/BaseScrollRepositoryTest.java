@@ -0,0 +1,120 @@
+package app.jpa;
+
+import app.base.Base;
+import app.base.BaseExportService;
+import app.base.BaseFixture;
+import app.base.BaseRepository;
+import app.excel.ExcelStreamWriter;
+import app.jpa.cache.SecondLevelCacheStatistics;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "storage.jpa.statistics=true") // 실행된 SQL 수를 Hibernate 통계로 검증한다.
+@ActiveProfiles("rdb")
+@Import({BaseExportService.class, ExcelStreamWriter.class})
+class BaseScrollRepositoryTest {
+  private static final int ROWS = 2500;
+
+  @Autowired BaseRepository baseRepository;
+  @Autowired BaseJpaRepository baseJpaRepository;
+  @Autowired BaseExportService baseExportService;
+  @Autowired SecondLevelCacheStatistics cacheStatistics;
+  @Autowired EntityManager entityManager;
+  @Autowired TransactionTemplate transactionTemplate;
+  @Autowired PlatformTransactionManager transactionManager;
+
+  @TempDir Path dir;
+
+  TransactionTemplate readOnly;
+
+  @BeforeEach
+  void setUp() {
+    readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+    baseJpaRepository.deleteAllInBatch();
+    baseRepository.insertAll(LongStream.rangeClosed(1, ROWS).mapToObj(BaseFixture::of).toList());
+    cacheStatistics.statistics().clear();
+  }
+
+  @Test
+  @DisplayName("watermark 이후의 행을 id 순으로 스크롤하고 읽은 행은 바로 준영속으로 만든다")
+  void streamAfter() {
+    readOnly.executeWithoutResult(
+        status -> {
+          Session session = entityManager.unwrap(Session.class);
+          try (Stream<Base> bases = baseRepository.streamAfter(1000L)) {
+            List<Base> read =
+                bases
+                    .peek(base -> assertEquals(0, session.getStatistics().getEntityCount(), "행마다 detach 해야 합니다."))
+                    .toList();
+
+            assertEquals(ROWS - 1000, read.size());
+            assertEquals(1001L, read.getFirst().getId());
+            assertEquals((long) ROWS, read.getLast().getId());
+            assertFalse(entityManager.contains(read.getFirst()), "이미 읽은 행은 준영속이어야 합니다.");
+          }
+        });
+
+    assertEquals(0, cacheStatistics.statistics().getSecondLevelCachePutCount(), "2차 캐시를 우회해야 합니다.");
+  }
+
+  @Test
+  @DisplayName("호출 측 영속성 컨텍스트의 다른 엔티티는 비우지 않는다")
+  void keepsCallerEntities() {
+    readOnly.executeWithoutResult(
+        status -> {
+          Base loaded = entityManager.find(Base.class, 1L);
+          try (Stream<Base> bases = baseRepository.streamAfter(1000L)) {
+            assertEquals(ROWS - 1000, bases.count());
+          }
+          assertTrue(entityManager.contains(loaded), "스트리밍 전에 읽은 엔티티는 영속 상태로 남아야 합니다.");
+        });
+  }
+
+  @Test
+  @DisplayName("읽기 전용 트랜잭션 밖에서 호출하면 거부한다")
+  void requiresReadOnlyTransaction() {
+    assertThrows(InvalidDataAccessApiUsageException.class, () -> baseRepository.streamAfter(1000L));
+    assertThrows(
+        InvalidDataAccessApiUsageException.class,
+        () -> transactionTemplate.executeWithoutResult(status -> baseRepository.streamAfter(1000L)));
+  }
+
+  @Test
+  @DisplayName("watermark 를 이어 받아 증분 내보내기를 할 수 있다")
+  void incrementalExport() {
+    BaseExportService.BaseExport full = baseExportService.exportAll(dir.resolve("full.xlsx"));
+    assertEquals(ROWS, full.rows());
+    assertEquals(ROWS, full.watermark());
+
+    baseRepository.insertAll(List.of(BaseFixture.of(ROWS + 1L), BaseFixture.of(ROWS + 2L)));
+
+    BaseExportService.BaseExport incremental =
+        baseExportService.exportAfter(dir.resolve("incremental.xlsx"), full.watermark());
+    assertEquals(2, incremental.rows());
+    assertEquals(ROWS + 2, incremental.watermark());
+
+    BaseExportService.BaseExport empty =
+        baseExportService.exportAfter(dir.resolve("empty.xlsx"), incremental.watermark());
+    assertEquals(0, empty.rows());
+    assertEquals(incremental.watermark(), empty.watermark());
+  }
+}
@@ -0,0 +1,9 @@
+package app.jpa;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+
+@EntityScan(basePackages = "app")
+@SpringBootApplication
+public class RdbTestApplication {
+}
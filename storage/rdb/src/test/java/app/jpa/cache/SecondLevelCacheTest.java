@@ -0,0 +1,88 @@
+package app.jpa.cache;
+
+import app.base.Base;
+import app.base.BaseFixture;
+import app.base.BaseRepository;
+import app.jpa.BaseJpaRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "storage.jpa.statistics=true") // 실행된 SQL 수를 Hibernate 통계로 검증한다.
+@ActiveProfiles("rdb")
+class SecondLevelCacheTest {
+  private static final int REPEAT = 100;
+
+  @Autowired BaseRepository baseRepository;
+  @Autowired BaseJpaRepository baseJpaRepository;
+  @Autowired EntityManagerFactory entityManagerFactory;
+  @Autowired SecondLevelCacheStatistics cacheStatistics;
+
+  @BeforeEach
+  void setUp() {
+    baseJpaRepository.deleteAll();
+    entityManagerFactory.getCache().evictAll();
+    baseRepository.save(BaseFixture.of(1L));
+    cacheStatistics.statistics().clear();
+  }
+
+  @Test
+  @DisplayName("2차 캐시가 있으면 반복되는 findById는 SQL을 실행하지 않는다")
+  void findByIdHitsSecondLevelCache() {
+    Statistics statistics = cacheStatistics.statistics();
+
+    for (int i = 0; i < REPEAT; i++) {
+      assertTrue(baseRepository.findById(1L).isPresent());
+    }
+    long cachedStatements = statistics.getPrepareStatementCount();
+
+    statistics.clear();
+    for (int i = 0; i < REPEAT; i++) {
+      entityManagerFactory.getCache().evict(Base.class);
+      assertTrue(baseRepository.findById(1L).isPresent());
+    }
+    long uncachedStatements = statistics.getPrepareStatementCount();
+
+    assertEquals(0, cachedStatements);
+    assertEquals(REPEAT, uncachedStatements);
+  }
+
+  @Test
+  @DisplayName("쿼리 캐시는 동일한 조건의 다건 조회 결과를 재사용한다")
+  void queryCacheReusesResults() {
+    Statistics statistics = cacheStatistics.statistics();
+
+    for (int i = 0; i < REPEAT; i++) {
+      assertEquals(1, baseJpaRepository.findAllByIdIn(List.of(1L)).size());
+    }
+
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertEquals(REPEAT - 1, statistics.getQueryCacheHitCount());
+  }
+
+  @Test
+  @DisplayName("리전별 적중/실패 통계를 조회할 수 있다")
+  void exposesRegionStatistics() {
+    assertTrue(cacheStatistics.isEnabled());
+    baseRepository.findById(1L);
+    baseRepository.findById(1L);
+
+    SecondLevelCacheStatistics.RegionStats baseRegion =
+        cacheStatistics.regions().stream()
+            .filter(stats -> stats.region().equals(Base.class.getName()))
+            .findFirst()
+            .orElseThrow();
+
+    assertEquals(2, baseRegion.hitCount());
+    assertEquals(0, baseRegion.missCount());
+  }
+}
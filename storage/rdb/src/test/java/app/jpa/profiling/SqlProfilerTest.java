@@ -0,0 +1,109 @@
+package app.jpa.profiling;
+
+import app.base.BaseFixture;
+import app.base.BaseRepository;
+import app.jpa.BaseJpaRepository;
+import app.sql.SqlDiagnostics;
+import app.sql.SqlReport;
+import jakarta.persistence.EntityManagerFactory;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(
+    properties = {
+      "storage.sql-profiling.slow-threshold=0ms",
+      "storage.sql-profiling.slow-buffer-size=5",
+      "storage.sql-profiling.n-plus-one-threshold=3"
+    })
+@ActiveProfiles("rdb")
+class SqlProfilerTest {
+
+  @Autowired SqlDiagnostics sqlDiagnostics;
+  @Autowired BaseRepository baseRepository;
+  @Autowired BaseJpaRepository baseJpaRepository;
+  @Autowired EntityManagerFactory entityManagerFactory;
+
+  @BeforeEach
+  void setUp() {
+    baseJpaRepository.deleteAllInBatch();
+    entityManagerFactory.getCache().evictAll();
+    sqlDiagnostics.reset();
+  }
+
+  @Test
+  @DisplayName("SQL 별 실행 횟수와 실제 배치 크기를 집계한다")
+  void recordsBatchSize() {
+    baseRepository.insertAll(LongStream.rangeClosed(1, 120).mapToObj(BaseFixture::of).toList());
+
+    SqlReport.StatementStats insert =
+        sqlDiagnostics.report().statements().stream()
+            .filter(stats -> stats.sql().startsWith("insert"))
+            .findFirst()
+            .orElseThrow();
+
+    assertEquals(3, insert.count()); // 50 + 50 + 20
+    assertEquals(40.0, insert.avgBatchSize());
+  }
+
+  @Test
+  @DisplayName("한 범위 안에서 같은 SELECT 가 반복되면 N+1 로 기록한다")
+  void detectsNPlusOne() {
+    baseRepository.insertAll(LongStream.rangeClosed(1, 5).mapToObj(BaseFixture::of).toList());
+    entityManagerFactory.getCache().evictAll(); // 2차 캐시를 거치지 않고 SELECT 가 나가도록
+
+    try (SqlDiagnostics.Scope ignored = sqlDiagnostics.openScope("GET /test")) {
+      LongStream.rangeClosed(1, 5).forEach(baseRepository::findById);
+    }
+    baseRepository.findById(1L); // 범위 밖 실행은 세지 않는다
+
+    SqlReport report = sqlDiagnostics.report();
+    assertEquals(1, report.nPlusOnes().size());
+    assertEquals("GET /test", report.nPlusOnes().getFirst().scope());
+    assertTrue(report.nPlusOnes().getFirst().sql().startsWith("select"));
+  }
+
+  @Test
+  @DisplayName("느린 SQL 버퍼는 크기를 넘지 않고 느린 순으로 정렬된다")
+  void slowBufferIsBounded() {
+    LongStream.rangeClosed(1, 20).forEach(baseRepository::findById);
+
+    SqlReport report = sqlDiagnostics.report();
+    assertEquals(5, report.slowest().size());
+    for (int i = 1; i < report.slowest().size(); i++) {
+      assertTrue(report.slowest().get(i - 1).elapsedMs() >= report.slowest().get(i).elapsedMs());
+    }
+  }
+
+  @Test
+  @DisplayName("느린 SQL 버퍼는 최근 것이 아니라 가장 느린 것을 남긴다")
+  void slowBufferKeepsSlowest() {
+    SqlProfiler profiler = new SqlProfiler(new SqlProfilingProperties(true, Duration.ZERO, 3, 10, 0.0));
+
+    for (long millis : new long[] {50, 10, 40, 5, 30, 1, 2, 3}) {
+      execute(profiler, "select " + millis, millis);
+    }
+
+    List<String> slowest = profiler.report().slowest().stream().map(SqlReport.SlowStatement::sql).toList();
+    assertEquals(List.of("select 50", "select 40", "select 30"), slowest);
+  }
+
+  /** millis 전에 시작해 지금 끝난 SQL 실행을 흉내 낸다. */
+  private static void execute(SqlProfiler profiler, String sql, long millis) {
+    ExecutionInfo execution = new ExecutionInfo();
+    QueryInfo query = new QueryInfo(sql);
+    execution.addCustomValue(SqlProfiler.START_NANOS, System.nanoTime() - Duration.ofMillis(millis).toNanos());
+    profiler.afterQuery(execution, List.of(query));
+  }
+}
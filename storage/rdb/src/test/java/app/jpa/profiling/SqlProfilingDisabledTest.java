@@ -0,0 +1,25 @@
+package app.jpa.profiling;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "storage.sql-profiling.enabled=false")
+@ActiveProfiles("rdb")
+class SqlProfilingDisabledTest {
+
+  @Autowired DataSource dataSource;
+
+  @Test
+  @DisplayName("enabled=false 면 DataSource 를 프록시로 감싸지 않는다")
+  void doesNotWrapDataSource() {
+    assertFalse(dataSource instanceof ProxyDataSource);
+  }
+}
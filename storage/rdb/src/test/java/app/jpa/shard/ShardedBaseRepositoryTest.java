@@ -0,0 +1,192 @@
+package app.jpa.shard;
+
+import app.base.Base;
+import app.base.BaseFixture;
+import app.base.BaseRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+@SpringBootTest(
+    properties = {
+      "storage.sharding.enabled=true",
+      "storage.sharding.active-shards=2",
+      "storage.sharding.shards[0].url=jdbc:h2:mem:shard-test0;DB_CLOSE_DELAY=-1",
+      "storage.sharding.shards[0].username=sa",
+      "storage.sharding.shards[1].url=jdbc:h2:mem:shard-test1;DB_CLOSE_DELAY=-1",
+      "storage.sharding.shards[1].username=sa",
+      "storage.sharding.shards[2].url=jdbc:h2:mem:shard-test2;DB_CLOSE_DELAY=-1",
+      "storage.sharding.shards[2].username=sa",
+    })
+@ActiveProfiles("rdb")
+class ShardedBaseRepositoryTest {
+  private static final int ROWS = 1200;
+
+  @Autowired BaseRepository baseRepository;
+  @Autowired ShardRouter router;
+  @Autowired Resharder resharder;
+  @Autowired ShardedBaseRepository shardedBaseRepository;
+  @Autowired ShardingProperties properties;
+  @Autowired EntityManagerFactory entityManagerFactory;
+
+  List<JdbcTemplate> shards;
+
+  @BeforeEach
+  void setUp() {
+    if (router.shardCount() != 2) {
+      router.beginResharding(2);
+      router.finishResharding();
+    }
+    shards =
+        properties.shards().stream()
+            .map(shard -> new JdbcTemplate(new DriverManagerDataSource(shard.url(), shard.username(), "")))
+            .toList();
+    shards.forEach(shard -> shard.update("delete from base"));
+    entityManagerFactory.getCache().evictAll();
+    baseRepository.insertAll(LongStream.rangeClosed(1, ROWS).mapToObj(BaseFixture::of).toList());
+  }
+
+  @Test
+  @DisplayName("id 해시로 활성 샤드에 고르게 나누어 저장한다")
+  void routesByHash() {
+    long shard0 = count(0);
+    long shard1 = count(1);
+
+    assertEquals(ROWS, shard0 + shard1);
+    assertEquals(0, count(2), "비활성 샤드에는 저장하지 않아야 합니다.");
+    assertTrue(Math.abs(shard0 - shard1) < ROWS / 10, "샤드 간 편차가 커서는 안 됩니다. " + shard0 + " / " + shard1);
+    assertEquals(1L, countOn(router.shardFor(777L), 777L));
+  }
+
+  @Test
+  @DisplayName("단건 조회는 한 샤드로, 다건 조회는 모든 샤드로 흩어 모은다")
+  void findAcrossShards() {
+    assertTrue(baseRepository.findById(777L).isPresent());
+    assertTrue(baseRepository.findById(ROWS + 1L).isEmpty());
+
+    List<Long> ids = List.of(1L, 2L, 3L, 500L, 999L, ROWS + 1L);
+    assertEquals(5, baseRepository.findAllByIdIn(ids).size());
+    assertEquals(ROWS, baseRepository.findMaxId().orElseThrow());
+
+    try (Stream<Base> bases = baseRepository.streamAfter(1000L)) {
+      assertEquals(
+          LongStream.rangeClosed(1001, ROWS).boxed().toList(), bases.map(Base::getId).toList());
+    }
+  }
+
+  @Test
+  @DisplayName("샤드를 늘리면 새 배치에 맞게 행을 옮기고 모든 행을 계속 조회할 수 있다")
+  void reshard() {
+    long moved = resharder.reshard(3).join();
+
+    assertFalse(router.isResharding());
+    assertEquals(ROWS, count(0) + count(1) + count(2));
+    assertEquals(count(2), moved, "새 샤드로 가는 행만 옮겨야 합니다.");
+    for (long id = 1; id <= ROWS; id++) {
+      assertEquals(1L, countOn(ShardRouter.shardFor(id, 3), id), "id " + id + " 가 새 샤드에 있어야 합니다.");
+    }
+    assertEquals(
+        ROWS, baseRepository.findAllByIdIn(LongStream.rangeClosed(1, ROWS).boxed().toList()).size());
+  }
+
+  @Test
+  @DisplayName("옮길 행이 쿼리 캐시에 있어도 새 샤드에 복사한 뒤 지운다")
+  void reshardIgnoresQueryCache() {
+    // 0 번 샤드의 첫 페이지에서 2 번 샤드로 옮겨질 id. Resharder 가 같은 목록으로 존재 여부를 확인한다.
+    List<Long> leaving =
+        LongStream.rangeClosed(1, ROWS)
+            .filter(id -> ShardRouter.shardFor(id, 2) == 0)
+            .limit(500)
+            .filter(id -> ShardRouter.shardFor(id, 3) == 2)
+            .boxed()
+            .toList();
+    assertEquals(leaving.size(), baseRepository.findAllByIdIn(leaving).size()); // 0 번 샤드 결과를 쿼리 캐시에 올린다.
+
+    resharder.reshard(3).join();
+
+    assertEquals(ROWS, count(0) + count(1) + count(2));
+    leaving.forEach(id -> assertEquals(1L, countOn(2, id), "id " + id + " 가 새 샤드로 복사되어야 합니다."));
+  }
+
+  @Test
+  @DisplayName("이동이 실패하면 리샤딩 상태로 남아 모든 행을 조회할 수 있고, resume 으로 마무리한다")
+  void resumesFailedReshard() {
+    ShardedBaseRepository failing = spy(shardedBaseRepository);
+    doThrow(new IllegalStateException("샤드 장애")).doCallRealMethod().when(failing).deleteAll(anyInt(), anyList());
+    Resharder resharder = new Resharder(router, failing);
+
+    assertThrows(CompletionException.class, () -> resharder.reshard(3).join());
+    assertTrue(router.isResharding());
+    entityManagerFactory.getCache().evictAll();
+    assertEquals(ROWS, baseRepository.findAllByIdIn(LongStream.rangeClosed(1, ROWS).boxed().toList()).size());
+
+    resharder.resume().join();
+
+    assertFalse(router.isResharding());
+    assertEquals(ROWS, count(0) + count(1) + count(2));
+    for (long id = 1; id <= ROWS; id++) {
+      assertEquals(1L, countOn(ShardRouter.shardFor(id, 3), id), "id " + id + " 가 새 샤드에 있어야 합니다.");
+    }
+    assertThrows(IllegalStateException.class, resharder::resume);
+  }
+
+  @Test
+  @DisplayName("리샤딩 중에는 아직 옮겨지지 않은 행을 이전 샤드에서 찾는다")
+  void readsPreviousShardWhileResharding() {
+    long id =
+        LongStream.rangeClosed(1, ROWS)
+            .filter(candidate -> ShardRouter.shardFor(candidate, 3) == 2)
+            .findFirst()
+            .orElseThrow();
+
+    router.beginResharding(3);
+    try {
+      // insert 로 채워진 2차 캐시가 라우터보다 먼저 답하지 않도록 비운다.
+      entityManagerFactory.getCache().evictAll();
+      assertEquals(0L, countOn(2, id));
+      assertTrue(baseRepository.findById(id).isPresent());
+      assertEquals(1, baseRepository.findAllByIdIn(List.of(id)).size());
+    } finally {
+      router.finishResharding();
+    }
+  }
+
+  @Test
+  @DisplayName("닫으면 샤드 커넥션 풀을 모두 닫는다")
+  void closesShardPools() {
+    ShardDataSources pools = new ShardDataSources(properties);
+    List<DataSource> all = pools.all();
+
+    pools.close();
+
+    assertEquals(3, all.size());
+    all.forEach(pool -> assertTrue(((HikariDataSource) pool).isClosed()));
+  }
+
+  private long count(int shard) {
+    return shards.get(shard).queryForObject("select count(*) from base", Long.class);
+  }
+
+  private long countOn(int shard, long id) {
+    return shards.get(shard).queryForObject("select count(*) from base where id = ?", Long.class, id);
+  }
+}